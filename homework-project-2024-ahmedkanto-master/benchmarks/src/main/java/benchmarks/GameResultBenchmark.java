@@ -0,0 +1,84 @@
+package benchmarks;
+
+import modelBoard.GameResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of ranking {@link GameResult}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GameResultBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<GameResult> results;
+
+    /**
+     * Creates random results.
+     */
+    @Setup
+    public void setUp() {
+        results = Fixtures.results(size, 42);
+    }
+
+    /**
+     * Sorts a copy of the results with {@link GameResult#compareTo(GameResult)}.
+     *
+     * @return the sorted copy, consumed by JMH
+     */
+    @Benchmark
+    public List<GameResult> sortByCompareTo() {
+        List<GameResult> copy = new ArrayList<>(results);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Shared test data.
+     */
+    static final class Fixtures {
+        private Fixtures() {
+        }
+
+        /**
+         * Creates random results of a few players.
+         *
+         * @param size the number of results
+         * @param seed the random seed
+         * @return the results
+         */
+        static List<GameResult> results(int size, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            LocalDateTime base = LocalDateTime.of(2024, 6, 1, 0, 0);
+            List<GameResult> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                LocalDateTime start = base.plusSeconds(random.nextInt(10_000_000));
+                results.add(new GameResult("player" + random.nextInt(100), start,
+                        start.plusSeconds(5 + random.nextInt(600)), 32 + random.nextInt(100), true));
+            }
+            return results;
+        }
+    }
+}
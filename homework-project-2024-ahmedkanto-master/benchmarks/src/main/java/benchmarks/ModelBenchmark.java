@@ -0,0 +1,125 @@
+package benchmarks;
+
+import modelBoard.Direction;
+import modelBoard.LabyrinthModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of single {@link LabyrinthModel} operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    private LabyrinthModel model;
+    private int direction;
+
+    /**
+     * Creates a fresh model.
+     */
+    @Setup
+    public void setUp() {
+        model = new LabyrinthModel();
+    }
+
+    /**
+     * Rolls the ball through the legacy move method.
+     *
+     * @return the ball cell, consumed by JMH
+     */
+    @Benchmark
+    public int rollWithMoveMethods() {
+        switch (direction++ & 3) {
+            case 0:
+                model.moveUp();
+                break;
+            case 1:
+                model.moveRight();
+                break;
+            case 2:
+                model.moveDown();
+                break;
+            default:
+                model.moveLeft();
+        }
+        return model.getBallCell();
+    }
+
+    /**
+     * Rolls the ball and takes the roll back through the primitive move API.
+     *
+     * @return the ball cell, consumed by JMH
+     */
+    @Benchmark
+    public int applyAndUndo() {
+        int previous = model.apply(direction++ & 3);
+        int cell = model.getBallCell();
+        model.undo(previous);
+        return cell;
+    }
+
+    /**
+     * Lists the legal moves through the {@link puzzle.State} adapter.
+     *
+     * @return the legal moves, consumed by JMH
+     */
+    @Benchmark
+    public Set<String> getLegalMoves() {
+        return model.getLegalMoves();
+    }
+
+    /**
+     * Gets the legal moves as a bit mask.
+     *
+     * @return the legal-move mask, consumed by JMH
+     */
+    @Benchmark
+    public int legalMoveMask() {
+        return model.legalMoveMask();
+    }
+
+    /**
+     * Checks a move through the {@link puzzle.State} adapter.
+     *
+     * @return whether rolling up is legal, consumed by JMH
+     */
+    @Benchmark
+    public boolean isLegalMove() {
+        return model.isLegalMove(Direction.of(direction++ & 3).name());
+    }
+
+    /**
+     * Copies the model as the solvers do for every generated node.
+     *
+     * @return the copy, consumed by JMH
+     */
+    @Benchmark
+    public LabyrinthModel cloneModel() {
+        return model.clone();
+    }
+
+    /**
+     * Hashes the model as the visited set of a search does.
+     *
+     * @return the hash code, consumed by JMH
+     */
+    @Benchmark
+    public int hashCodeModel() {
+        return model.hashCode();
+    }
+}
@@ -0,0 +1,118 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import modelBoard.GameResult;
+import modelBoard.GameResultCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading and saving {@code highscores.json}, with a new mapper per call as
+ * {@code BoardGameController} used to do and with the shared, streaming {@link GameResultCodec}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<GameResult> results;
+    private File input;
+    private File output;
+
+    /**
+     * Writes a score file of the benchmarked size.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        results = GameResultBenchmark.Fixtures.results(size, 42);
+        input = Files.createTempFile("highscores", ".json").toFile();
+        output = Files.createTempFile("highscores-out", ".json").toFile();
+        mapper().writeValue(input, results);
+    }
+
+    /**
+     * Deletes the score files.
+     */
+    @TearDown
+    public void tearDown() {
+        input.delete();
+        output.delete();
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+
+    /**
+     * Loads the score file with a new mapper.
+     *
+     * @return the loaded results, consumed by JMH
+     * @throws IOException if the file cannot be read
+     */
+    @Benchmark
+    public List<GameResult> load() throws IOException {
+        return mapper().readValue(input, new TypeReference<List<GameResult>>() {});
+    }
+
+    /**
+     * Saves the results with a new mapper.
+     *
+     * @return the size of the written file, consumed by JMH
+     * @throws IOException if the file cannot be written
+     */
+    @Benchmark
+    public long save() throws IOException {
+        mapper().writeValue(output, results);
+        return output.length();
+    }
+
+    /**
+     * Loads the score file with the shared codec.
+     *
+     * @return the loaded results, consumed by JMH
+     * @throws IOException if the file cannot be read
+     */
+    @Benchmark
+    public List<GameResult> loadCodec() throws IOException {
+        return GameResultCodec.readAll(input.toPath());
+    }
+
+    /**
+     * Saves the results with the shared codec.
+     *
+     * @return the size of the written file, consumed by JMH
+     * @throws IOException if the file cannot be written
+     */
+    @Benchmark
+    public long saveCodec() throws IOException {
+        GameResultCodec.writeAll(output.toPath(), results);
+        return output.length();
+    }
+}
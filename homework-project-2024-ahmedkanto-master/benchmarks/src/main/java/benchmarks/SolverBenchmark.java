@@ -0,0 +1,86 @@
+package benchmarks;
+
+import modelBoard.BidirectionalSolver;
+import modelBoard.Board;
+import modelBoard.FrontierBfs;
+import modelBoard.LabyrinthModel;
+import modelBoard.OptimalSolver;
+import modelBoard.Solution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzle.solver.BreadthFirstSearch;
+import puzzle.solver.Node;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a full solve of the original board, as run by {@code SearchCli}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    private final Board board = Board.classic();
+
+    /**
+     * Solves with the library search over {@link LabyrinthModel} states.
+     *
+     * @return the solution, consumed by JMH
+     */
+    @Benchmark
+    public Optional<Node<String>> breadthFirstSearchModel() {
+        return new BreadthFirstSearch<String>().solve(new LabyrinthModel());
+    }
+
+    /**
+     * Solves with the library search over position-only states.
+     *
+     * @return the solution, consumed by JMH
+     */
+    @Benchmark
+    public Optional<Node<String>> breadthFirstSearchPosition() {
+        return new BreadthFirstSearch<String>().solve(new LabyrinthModel().toSearchState());
+    }
+
+    /**
+     * Solves with A* for the fewest cells travelled.
+     *
+     * @return the solution, consumed by JMH
+     */
+    @Benchmark
+    public Solution optimalByMoves() {
+        return new OptimalSolver(board.rollGraph())
+                .solve(board.getStartCell(), board.getTargetCell(), OptimalSolver.Metric.MOVES);
+    }
+
+    /**
+     * Solves with the primitive breadth-first search.
+     *
+     * @return the solution, consumed by JMH
+     */
+    @Benchmark
+    public Solution frontierBfs() {
+        return new FrontierBfs(board.rollGraph()).solveSequential(board.getStartCell(), board.getTargetCell());
+    }
+
+    /**
+     * Solves with the bidirectional search.
+     *
+     * @return the solution, consumed by JMH
+     */
+    @Benchmark
+    public Solution bidirectional() {
+        return new BidirectionalSolver(board.rollGraph()).solve(board.getStartCell(), board.getTargetCell());
+    }
+}
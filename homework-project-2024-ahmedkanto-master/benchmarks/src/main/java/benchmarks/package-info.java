@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for the model, solver and persistence hot paths.
+ */
+package benchmarks;
@@ -0,0 +1,240 @@
+package modelBoard;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line solver for many boards at once. Boards are read from a {@link BoardFile}, or in text
+ * form separated by blank lines from a file or standard input, solved in parallel, and the results are
+ * written as one JSON object per line in the order they complete:
+ * <pre>
+ * {"index":0,"solvable":true,"optimalRolls":18,"optimalMoves":32,"nodesExpanded":62,"timeNanos":41250}
+ * </pre>
+ * Throughput is reported on standard error.
+ *
+ * <p>Usage: {@code BatchSolveCli [--threads N] [--virtual] [--output FILE] BOARDS|-}
+ */
+public class BatchSolveCli {
+    private static final int FLUSH_INTERVAL = 1024;
+
+    /**
+     * The main method of the application.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the boards cannot be read or the results cannot be written
+     * @throws InterruptedException if interrupted while waiting for results
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean virtual = false;
+        Path output = null;
+        String input = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--virtual":
+                    virtual = true;
+                    break;
+                case "--output":
+                    output = Path.of(args[++i]);
+                    break;
+                default:
+                    input = args[i];
+            }
+        }
+        if (input == null) {
+            System.err.println("Usage: BatchSolveCli [--threads N] [--virtual] [--output FILE] BOARDS|-");
+            System.exit(2);
+        }
+
+        ExecutorService executor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : new ForkJoinPool(threads);
+        OutputStream out = output == null ? System.out : Files.newOutputStream(output);
+        BoardFile boardFile = null;
+        try {
+            Iterator<Board> boards;
+            if (input.equals("-")) {
+                boards = textBoards(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+            } else if (BoardFile.isBoardFile(Path.of(input))) {
+                boardFile = BoardFile.open(Path.of(input));
+                boards = boardFile.iterator();
+            } else {
+                boards = textBoards(Files.newBufferedReader(Path.of(input)));
+            }
+            long started = System.nanoTime();
+            long solved = solveAll(boards, executor, threads * 4, out);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.err.printf("Solved %d boards in %.3f s (%.1f boards/s)%n", solved, seconds, solved / seconds);
+        } finally {
+            executor.shutdown();
+            if (boardFile != null) {
+                boardFile.close();
+            }
+            if (output != null) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Solves boards on an executor, keeping at most {@code maxInFlight} boards queued or running, and
+     * writes each result as soon as it is available.
+     *
+     * @param boards the boards to solve
+     * @param executor the executor to solve on
+     * @param maxInFlight the largest number of unfinished boards
+     * @param out the stream the JSON lines are written to
+     * @return the number of boards solved
+     * @throws IOException if the results cannot be written
+     * @throws InterruptedException if interrupted while waiting for results
+     */
+    static long solveAll(Iterator<Board> boards, ExecutorService executor, int maxInFlight, OutputStream out)
+            throws IOException, InterruptedException {
+        CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+        JsonGenerator generator = new JsonFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        long submitted = 0;
+        long written = 0;
+        while (boards.hasNext()) {
+            if (submitted - written >= maxInFlight) {
+                write(generator, take(completion));
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            Board board = boards.next();
+            long index = submitted++;
+            completion.submit(() -> solve(index, board));
+        }
+        while (written < submitted) {
+            write(generator, take(completion));
+            written++;
+        }
+        generator.writeRaw('\n');
+        generator.close();
+        out.flush();
+        return written;
+    }
+
+    private static Result take(CompletionService<Result> completion) throws InterruptedException {
+        try {
+            return completion.take().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Solving a board failed", e.getCause());
+        }
+    }
+
+    private static Result solve(long index, Board board) {
+        long started = System.nanoTime();
+        OptimalSolver solver = new OptimalSolver(board.rollGraph());
+        Solution byRolls = solver.solve(board.getStartCell(), board.getTargetCell(), OptimalSolver.Metric.ROLLS);
+        Solution byMoves = byRolls.isSolvable()
+                ? solver.solve(board.getStartCell(), board.getTargetCell(), OptimalSolver.Metric.MOVES)
+                : byRolls;
+        long expanded = byRolls.getExpandedNodes() + (byMoves == byRolls ? 0 : byMoves.getExpandedNodes());
+        return new Result(index, byRolls.isSolvable(), byRolls.getRollCount(), byMoves.getMoves(), expanded,
+                System.nanoTime() - started);
+    }
+
+    private static void write(JsonGenerator generator, Result result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", result.index);
+        generator.writeBooleanField("solvable", result.solvable);
+        generator.writeNumberField("optimalRolls", result.optimalRolls);
+        generator.writeNumberField("optimalMoves", result.optimalMoves);
+        generator.writeNumberField("nodesExpanded", result.nodesExpanded);
+        generator.writeNumberField("timeNanos", result.timeNanos);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads boards in text form separated by blank lines.
+     *
+     * @param reader the reader to read from, closed when the last board has been read
+     * @return an iterator over the boards
+     */
+    static Iterator<Board> textBoards(BufferedReader reader) {
+        return new Iterator<>() {
+            private Board next = read();
+
+            private Board read() {
+                try {
+                    StringBuilder text = new StringBuilder();
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            if (text.length() > 0) {
+                                break;
+                            }
+                        } else {
+                            text.append(line).append('\n');
+                        }
+                    }
+                    if (text.length() == 0) {
+                        reader.close();
+                        return null;
+                    }
+                    return Board.parse(text.toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Board next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Board board = next;
+                next = read();
+                return board;
+            }
+        };
+    }
+
+    private static final class Result {
+        private final long index;
+        private final boolean solvable;
+        private final int optimalRolls;
+        private final int optimalMoves;
+        private final long nodesExpanded;
+        private final long timeNanos;
+
+        private Result(long index, boolean solvable, int optimalRolls, int optimalMoves, long nodesExpanded,
+                       long timeNanos) {
+            this.index = index;
+            this.solvable = solvable;
+            this.optimalRolls = optimalRolls;
+            this.optimalMoves = optimalMoves;
+            this.nodesExpanded = nodesExpanded;
+            this.timeNanos = timeNanos;
+        }
+    }
+}
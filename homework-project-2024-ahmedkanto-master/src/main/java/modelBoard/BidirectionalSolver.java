@@ -0,0 +1,130 @@
+package modelBoard;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional breadth-first search for a solution with the fewest rolls. One search rolls forward
+ * from the start, the other follows the {@link ReverseRollIndex} backward from the target, and the
+ * smaller frontier is expanded one full level at a time. When a level reaches cells seen by the other
+ * search, the meeting cell with the shortest total is used, so the solution is optimal.
+ */
+public class BidirectionalSolver {
+    private static final int UNSEEN = -1;
+
+    private final RollGraph graph;
+    private final ReverseRollIndex reverse;
+
+    /**
+     * Creates a solver for the specified roll graph.
+     *
+     * @param graph the roll graph of the board
+     */
+    public BidirectionalSolver(RollGraph graph) {
+        this.graph = graph;
+        this.reverse = graph.reverseIndex();
+    }
+
+    /**
+     * Finds a solution with the fewest rolls.
+     *
+     * @param start the starting cell index
+     * @param target the target cell index
+     * @return the solution, unsolvable if the target cannot be reached
+     */
+    public Solution solve(int start, int target) {
+        if (start == target) {
+            return Solution.of(graph, start, new int[0], 0);
+        }
+        int cells = graph.getCells();
+        int[] forwardDistance = new int[cells];
+        int[] backwardDistance = new int[cells];
+        Arrays.fill(forwardDistance, UNSEEN);
+        Arrays.fill(backwardDistance, UNSEEN);
+        int[] parent = new int[cells];
+        int[] child = new int[cells];
+        byte[] parentRoll = new byte[cells];
+        byte[] childRoll = new byte[cells];
+        forwardDistance[start] = 0;
+        backwardDistance[target] = 0;
+        int[] forward = {start};
+        int[] backward = {target};
+        long expanded = 0;
+        int meeting = UNSEEN;
+        while (forward.length > 0 && backward.length > 0 && meeting == UNSEEN) {
+            if (forward.length <= backward.length) {
+                expanded += forward.length;
+                forward = expandForward(forward, forwardDistance, parent, parentRoll);
+                meeting = bestMeeting(forward, forwardDistance, backwardDistance);
+            } else {
+                expanded += backward.length;
+                backward = expandBackward(backward, backwardDistance, child, childRoll);
+                meeting = bestMeeting(backward, forwardDistance, backwardDistance);
+            }
+        }
+        if (meeting == UNSEEN) {
+            return Solution.unsolvable(expanded);
+        }
+        int[] rolls = new int[forwardDistance[meeting] + backwardDistance[meeting]];
+        int index = forwardDistance[meeting];
+        for (int cell = meeting; cell != start; cell = parent[cell]) {
+            rolls[--index] = parentRoll[cell];
+        }
+        index = forwardDistance[meeting];
+        for (int cell = meeting; cell != target; cell = child[cell]) {
+            rolls[index++] = childRoll[cell];
+        }
+        return Solution.of(graph, start, rolls, expanded);
+    }
+
+    private int[] expandForward(int[] frontier, int[] distance, int[] parent, byte[] parentRoll) {
+        int[] next = new int[Math.max(16, frontier.length)];
+        int size = 0;
+        for (int cell : frontier) {
+            for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                int destination = graph.destination(cell, direction);
+                if (distance[destination] == UNSEEN) {
+                    distance[destination] = distance[cell] + 1;
+                    parent[destination] = cell;
+                    parentRoll[destination] = (byte) direction;
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, size * 2);
+                    }
+                    next[size++] = destination;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    private int[] expandBackward(int[] frontier, int[] distance, int[] child, byte[] childRoll) {
+        int[] next = new int[Math.max(16, frontier.length)];
+        int size = 0;
+        for (int cell : frontier) {
+            for (int entry = reverse.from(cell); entry < reverse.to(cell); entry++) {
+                int source = reverse.source(entry);
+                if (distance[source] == UNSEEN) {
+                    distance[source] = distance[cell] + 1;
+                    child[source] = cell;
+                    childRoll[source] = (byte) reverse.roll(entry);
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, size * 2);
+                    }
+                    next[size++] = source;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    private static int bestMeeting(int[] level, int[] forwardDistance, int[] backwardDistance) {
+        int best = UNSEEN;
+        for (int cell : level) {
+            if (forwardDistance[cell] != UNSEEN && backwardDistance[cell] != UNSEEN
+                    && (best == UNSEEN || forwardDistance[cell] + backwardDistance[cell]
+                    < forwardDistance[best] + backwardDistance[best])) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,443 @@
+package modelBoard;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable definition of a labyrinth: its dimensions, the start and target cells and the walls.
+ * Cells are numbered {@code row * cols + col}. Walls are stored one bit per cell in {@code long} words;
+ * a horizontal wall lies below its cell and a vertical wall lies to the right of its cell.
+ *
+ * <p>A board has a text form, produced by {@link #toText()} and read by {@link #parse(String)}:
+ * <pre>
+ * labyrinth 7 7
+ * start 1 4
+ * target 5 2
+ * horizontal 0000000000000000 ...
+ * vertical 0000000000000000 ...
+ * </pre>
+ * where the wall lines hold the bit words in hexadecimal, and a binary form, written by
+ * {@link #writeTo(ByteBuffer)} and read by {@link #readFrom(ByteBuffer)}, used by {@link BoardFile}.
+ */
+public final class Board {
+    /**
+     * The largest number of rows or columns a board may have.
+     */
+    public static final int MAX_DIMENSION = 16384;
+
+    private static final Board CLASSIC = classicBoard();
+
+    private final int rows;
+    private final int cols;
+    private final int startCell;
+    private final int targetCell;
+    private final long[] horizontalWalls;
+    private final long[] verticalWalls;
+
+    private int hash;
+    private long fingerprint;
+    private volatile RollGraph rollGraph;
+    private volatile Reachability reachability;
+
+    /**
+     * Constructs a board.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param startCell the cell index the ball starts in
+     * @param targetCell the cell index of the target
+     * @param horizontalWalls the horizontal wall bits, one bit per cell
+     * @param verticalWalls the vertical wall bits, one bit per cell
+     * @throws IllegalArgumentException if the dimensions, cells or wall words are invalid
+     */
+    public Board(int rows, int cols, int startCell, int targetCell, long[] horizontalWalls, long[] verticalWalls) {
+        if (rows < 1 || cols < 1 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        int cells = rows * cols;
+        if (startCell < 0 || startCell >= cells || targetCell < 0 || targetCell >= cells) {
+            throw new IllegalArgumentException("Start or target outside the board");
+        }
+        if (horizontalWalls.length != words(cells) || verticalWalls.length != words(cells)) {
+            throw new IllegalArgumentException("Expected " + words(cells) + " wall words per direction");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.startCell = startCell;
+        this.targetCell = targetCell;
+        this.horizontalWalls = horizontalWalls.clone();
+        this.verticalWalls = verticalWalls.clone();
+    }
+
+    /**
+     * Gets the board of the original game.
+     *
+     * @return the 7x7 board of the original game
+     */
+    public static Board classic() {
+        return CLASSIC;
+    }
+
+    private static Board classicBoard() {
+        boolean[][] horizontal = {
+                {false, false, true, false, false, false, true},
+                {false, false, false, false, false, false, false},
+                {false, true, false, false, false, false, false},
+                {false, false, false, true, false, false, true},
+                {true, false, false, false, true, false, false},
+                {false, false, true, false, false, false, false},
+                {false, false, false, false, false, false, false},
+        };
+        boolean[][] vertical = {
+                {true, false, false, true, false, false, false},
+                {false, false, false, false, false, false, false},
+                {false, false, true, false, false, true, false},
+                {false, false, false, true, true, false, false},
+                {false, false, false, false, false, false, false},
+                {false, true, true, false, false, false, false},
+                {false, false, false, true, false, true, false},
+        };
+        return new Board(7, 7, 1 * 7 + 4, 5 * 7 + 2, pack(horizontal), pack(vertical));
+    }
+
+    /**
+     * Packs a wall grid into bit words.
+     *
+     * @param walls the wall grid indexed by row and column
+     * @return the wall bits, one bit per cell
+     */
+    public static long[] pack(boolean[][] walls) {
+        int cols = walls[0].length;
+        long[] bits = new long[words(walls.length * cols)];
+        for (int row = 0; row < walls.length; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (walls[row][col]) {
+                    int cell = row * cols + col;
+                    bits[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Gets the number of {@code long} words needed to hold one bit per cell.
+     *
+     * @param cells the number of cells
+     * @return the number of words
+     */
+    public static int words(int cells) {
+        return (cells + 63) >>> 6;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return the number of cells
+     */
+    public int getCells() {
+        return rows * cols;
+    }
+
+    /**
+     * Gets the index of the cell the ball starts in.
+     *
+     * @return the start cell index
+     */
+    public int getStartCell() {
+        return startCell;
+    }
+
+    /**
+     * Gets the index of the target cell.
+     *
+     * @return the target cell index
+     */
+    public int getTargetCell() {
+        return targetCell;
+    }
+
+    /**
+     * Checks if there is a wall below a cell.
+     *
+     * @param cell the cell index
+     * @return true if there is a wall below the cell, false otherwise
+     */
+    public boolean hasHorizontalWall(int cell) {
+        return (horizontalWalls[cell >>> 6] >>> cell & 1L) != 0;
+    }
+
+    /**
+     * Checks if there is a wall to the right of a cell.
+     *
+     * @param cell the cell index
+     * @return true if there is a wall to the right of the cell, false otherwise
+     */
+    public boolean hasVerticalWall(int cell) {
+        return (verticalWalls[cell >>> 6] >>> cell & 1L) != 0;
+    }
+
+    /**
+     * Gets the roll graph of the board, building it on first use.
+     *
+     * @return the roll graph
+     */
+    public RollGraph rollGraph() {
+        RollGraph graph = rollGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = rollGraph;
+                if (graph == null) {
+                    graph = new RollGraph(this);
+                    rollGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the cells from which the target can be reached, finding them on first use.
+     *
+     * @return the reachability of the target
+     */
+    public Reachability reachability() {
+        Reachability result = reachability;
+        if (result == null) {
+            synchronized (this) {
+                result = reachability;
+                if (result == null) {
+                    result = new Reachability(rollGraph(), targetCell);
+                    reachability = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of bytes {@link #writeTo(ByteBuffer)} writes for this board.
+     *
+     * @return the size of the binary form in bytes
+     */
+    public int binarySize() {
+        return binarySize(rows, cols);
+    }
+
+    /**
+     * Gets the size of the binary form of a board with the specified dimensions.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the size in bytes
+     */
+    static int binarySize(int rows, int cols) {
+        return 4 * Integer.BYTES + 2 * Long.BYTES * words(rows * cols);
+    }
+
+    /**
+     * Writes the binary form of the board: rows, columns, start and target as {@code int}s, followed by
+     * the horizontal and the vertical wall words.
+     *
+     * @param buffer the buffer to write to
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(rows).putInt(cols).putInt(startCell).putInt(targetCell);
+        for (long word : horizontalWalls) {
+            buffer.putLong(word);
+        }
+        for (long word : verticalWalls) {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Reads a board in the binary form written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the board
+     * @throws IllegalArgumentException if the data does not describe a valid board
+     */
+    public static Board readFrom(ByteBuffer buffer) {
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        int startCell = buffer.getInt();
+        int targetCell = buffer.getInt();
+        if (rows < 1 || cols < 1 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        int words = words(rows * cols);
+        long[] horizontal = new long[words];
+        long[] vertical = new long[words];
+        buffer.asLongBuffer().get(horizontal).get(vertical);
+        buffer.position(buffer.position() + 2 * Long.BYTES * words);
+        return new Board(rows, cols, startCell, targetCell, horizontal, vertical);
+    }
+
+    /**
+     * Gets the text form of the board.
+     *
+     * @return the text form
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("labyrinth ").append(rows).append(' ').append(cols).append('\n');
+        text.append("start ").append(startCell / cols).append(' ').append(startCell % cols).append('\n');
+        text.append("target ").append(targetCell / cols).append(' ').append(targetCell % cols).append('\n');
+        appendWords(text.append("horizontal"), horizontalWalls);
+        appendWords(text.append("vertical"), verticalWalls);
+        return text.toString();
+    }
+
+    private static void appendWords(StringBuilder text, long[] words) {
+        for (long word : words) {
+            String hex = Long.toHexString(word);
+            text.append(' ').append("0".repeat(16 - hex.length())).append(hex);
+        }
+        text.append('\n');
+    }
+
+    /**
+     * Reads a board from its text form.
+     *
+     * @param text the text form, as produced by {@link #toText()}
+     * @return the board
+     * @throws IllegalArgumentException if the text does not describe a valid board
+     */
+    public static Board parse(String text) {
+        String[] lines = text.strip().split("\\R");
+        if (lines.length != 5) {
+            throw new IllegalArgumentException("Expected 5 lines, found " + lines.length);
+        }
+        int[] size = numbers(lines[0], "labyrinth", 2);
+        int[] start = numbers(lines[1], "start", 2);
+        int[] target = numbers(lines[2], "target", 2);
+        int rows = size[0];
+        int cols = size[1];
+        if (rows < 1 || cols < 1 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        int words = words(rows * cols);
+        return new Board(rows, cols, cellOf(start, rows, cols), cellOf(target, rows, cols),
+                hexWords(lines[3], "horizontal", words), hexWords(lines[4], "vertical", words));
+    }
+
+    private static int cellOf(int[] position, int rows, int cols) {
+        if (position[0] < 0 || position[0] >= rows || position[1] < 0 || position[1] >= cols) {
+            throw new IllegalArgumentException("Position outside the board: " + Arrays.toString(position));
+        }
+        return position[0] * cols + position[1];
+    }
+
+    private static String[] fields(String line, String keyword, int count) {
+        String[] fields = line.strip().split("\\s+");
+        if (!fields[0].equals(keyword) || fields.length != count + 1) {
+            throw new IllegalArgumentException("Expected '" + keyword + "' with " + count + " values: " + line);
+        }
+        return fields;
+    }
+
+    private static int[] numbers(String line, String keyword, int count) {
+        String[] fields = fields(line, keyword, count);
+        int[] numbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = Integer.parseInt(fields[i + 1]);
+        }
+        return numbers;
+    }
+
+    private static long[] hexWords(String line, String keyword, int count) {
+        String[] fields = fields(line, keyword, count);
+        long[] words = new long[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = Long.parseUnsignedLong(fields[i + 1], 16);
+        }
+        return words;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        Board that = (Board) o;
+        return rows == that.rows && cols == that.cols
+                && startCell == that.startCell && targetCell == that.targetCell
+                && hashCode() == that.hashCode()
+                && Arrays.equals(horizontalWalls, that.horizontalWalls)
+                && Arrays.equals(verticalWalls, that.verticalWalls);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = 31 * (31 * (31 * rows + cols) + startCell) + targetCell;
+            result = 31 * result + Arrays.hashCode(horizontalWalls);
+            result = 31 * result + Arrays.hashCode(verticalWalls);
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets a 64-bit hash of the dimensions, the target and the walls, for keying results that do not
+     * depend on the start cell. Different boards get the same fingerprint only by a chance of about one
+     * in 2<sup>64</sup>.
+     *
+     * @return the fingerprint, never zero
+     */
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = mix((long) rows << 32 | cols);
+            result = mix(result ^ targetCell);
+            for (long word : horizontalWalls) {
+                result = mix(result ^ word);
+            }
+            for (long word : verticalWalls) {
+                result = mix(result ^ word);
+            }
+            if (result == 0) {
+                result = 1;
+            }
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * Scrambles a number with the finalizer of the SplitMix64 generator, so that inputs differing in a
+     * few bits give unrelated results.
+     *
+     * @param z the number
+     * @return the scrambled number
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return "Board{" + rows + "x" + cols + ", start=" + startCell + ", target=" + targetCell + "}";
+    }
+}
@@ -0,0 +1,223 @@
+package modelBoard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A memory-mapped file of boards for batch solving and benchmarking. The file starts with the
+ * {@link #MAGIC} number and a format version, followed by the boards in the binary form of
+ * {@link Board#writeTo(ByteBuffer)}. Opening the file only reads the board headers; a board is decoded
+ * from the mapped pages when it is requested.
+ */
+public final class BoardFile implements Closeable, Iterable<Board> {
+    /**
+     * The number every board file starts with, the characters {@code LBRD}.
+     */
+    public static final int MAGIC = 0x4C425244;
+
+    /**
+     * The version of the format written by {@link #write(Path, Iterable)}.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final int[] segmentOf;
+    private final long[] segmentStarts;
+    private final MappedByteBuffer[] segments;
+
+    private BoardFile(FileChannel channel, long[] offsets, int[] segmentOf, long[] segmentStarts,
+                      MappedByteBuffer[] segments) {
+        this.channel = channel;
+        this.offsets = offsets;
+        this.segmentOf = segmentOf;
+        this.segmentStarts = segmentStarts;
+        this.segments = segments;
+    }
+
+    /**
+     * Opens a board file. Files larger than 2 GiB are mapped in several segments, each holding whole
+     * boards.
+     *
+     * @param path the path of the file
+     * @return the opened file
+     * @throws IOException if the file cannot be read or is not a valid board file
+     */
+    public static BoardFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a board file: " + path);
+            }
+            long[] offsets = new long[16];
+            int count = 0;
+            long offset = HEADER_SIZE;
+            while (offset < size) {
+                readFully(channel, header.clear(), offset);
+                int rows = header.getInt(0);
+                int cols = header.getInt(Integer.BYTES);
+                if (rows < 1 || cols < 1 || rows > Board.MAX_DIMENSION || cols > Board.MAX_DIMENSION) {
+                    throw new IOException("Corrupt board header at offset " + offset + " in " + path);
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = offset;
+                offset += Board.binarySize(rows, cols);
+            }
+            if (offset != size) {
+                throw new IOException("Truncated board at offset " + offsets[count - 1] + " in " + path);
+            }
+            offsets = Arrays.copyOf(offsets, count + 1);
+            offsets[count] = size;
+            return map(channel, offsets);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static BoardFile map(FileChannel channel, long[] offsets) throws IOException {
+        int count = offsets.length - 1;
+        int[] segmentOf = new int[count];
+        List<MappedByteBuffer> segments = new ArrayList<>();
+        List<Long> starts = new ArrayList<>();
+        int first = 0;
+        while (first < count) {
+            int last = first;
+            while (last < count && offsets[last + 1] - offsets[first] <= MAX_SEGMENT_SIZE) {
+                segmentOf[last++] = segments.size();
+            }
+            starts.add(offsets[first]);
+            segments.add(channel.map(FileChannel.MapMode.READ_ONLY, offsets[first], offsets[last] - offsets[first]));
+            first = last;
+        }
+        long[] segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+        return new BoardFile(channel, Arrays.copyOf(offsets, count), segmentOf, segmentStarts,
+                segments.toArray(new MappedByteBuffer[0]));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of board file");
+            }
+        }
+    }
+
+    /**
+     * Writes boards to a new board file, replacing any existing file.
+     *
+     * @param path the path of the file
+     * @param boards the boards to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, Iterable<Board> boards) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(MAGIC).putInt(VERSION);
+            for (Board board : boards) {
+                if (buffer.remaining() < board.binarySize()) {
+                    flush(channel, buffer);
+                    if (buffer.capacity() < board.binarySize()) {
+                        buffer = ByteBuffer.allocate(board.binarySize());
+                    }
+                }
+                board.writeTo(buffer);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Checks if a file starts like a board file.
+     *
+     * @param path the path of the file
+     * @return true if the file starts with {@link #MAGIC}, false otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBoardFile(Path path) throws IOException {
+        if (Files.size(path) < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            readFully(channel, header, 0);
+            return header.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Gets the number of boards in the file.
+     *
+     * @return the number of boards
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Decodes a board from the mapped file.
+     *
+     * @param index the index of the board
+     * @return the board
+     * @throws IndexOutOfBoundsException if there is no board with the specified index
+     */
+    public Board get(int index) {
+        int segment = segmentOf[index];
+        ByteBuffer buffer = segments[segment].duplicate();
+        buffer.position((int) (offsets[index] - segmentStarts[segment]));
+        return Board.readFrom(buffer);
+    }
+
+    @Override
+    public Iterator<Board> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public Board next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
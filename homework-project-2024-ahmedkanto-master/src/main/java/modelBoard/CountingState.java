@@ -0,0 +1,76 @@
+package modelBoard;
+
+import puzzle.State;
+
+import java.util.Set;
+
+/**
+ * Decorator that counts how many nodes a search generates from a state. Every child node of the
+ * {@code homework-project-utils} solvers is created by cloning its parent state, so the number of
+ * clones is the number of generated nodes.
+ *
+ * @param <T> the type of the moves
+ */
+class CountingState<T> implements State<T> {
+    private final State<T> delegate;
+    private final long[] counter;
+
+    /**
+     * Wraps a state with a fresh counter.
+     *
+     * @param delegate the state to wrap
+     */
+    CountingState(State<T> delegate) {
+        this(delegate, new long[1]);
+    }
+
+    private CountingState(State<T> delegate, long[] counter) {
+        this.delegate = delegate;
+        this.counter = counter;
+    }
+
+    /**
+     * Gets the number of nodes generated from this state and its copies.
+     *
+     * @return the number of generated nodes
+     */
+    long getGeneratedNodes() {
+        return counter[0];
+    }
+
+    @Override
+    public boolean isSolved() {
+        return delegate.isSolved();
+    }
+
+    @Override
+    public boolean isLegalMove(T move) {
+        return delegate.isLegalMove(move);
+    }
+
+    @Override
+    public void makeMove(T move) {
+        delegate.makeMove(move);
+    }
+
+    @Override
+    public Set<T> getLegalMoves() {
+        return delegate.getLegalMoves();
+    }
+
+    @Override
+    public CountingState<T> clone() {
+        counter[0]++;
+        return new CountingState<>(delegate.clone(), counter);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CountingState && delegate.equals(((CountingState<?>) o).delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+}
@@ -0,0 +1,96 @@
+package modelBoard;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The directions the ball can be rolled in. The {@link #code()} of a direction is the {@code int}
+ * direction code used by {@link RollGraph} and by the primitive move API of {@link LabyrinthModel}, and
+ * {@link #mask()} is its bit in a legal-move mask.
+ */
+public enum Direction {
+    /**
+     * Rolling up.
+     */
+    UP,
+    /**
+     * Rolling right.
+     */
+    RIGHT,
+    /**
+     * Rolling down.
+     */
+    DOWN,
+    /**
+     * Rolling left.
+     */
+    LEFT;
+
+    private static final Direction[] VALUES = values();
+
+    /**
+     * Gets the direction code.
+     *
+     * @return the direction code
+     */
+    public int code() {
+        return ordinal();
+    }
+
+    /**
+     * Gets the bit of this direction in a legal-move mask.
+     *
+     * @return the bit of this direction
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Gets the direction with the specified code.
+     *
+     * @param code the direction code
+     * @return the direction
+     */
+    public static Direction of(int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Gets the names of the directions in a legal-move mask, as the {@link puzzle.State} interface
+     * expects them.
+     *
+     * @param mask the legal-move mask
+     * @return a new modifiable set of move names
+     */
+    public static Set<String> names(int mask) {
+        Set<String> names = new HashSet<>();
+        for (Direction direction : VALUES) {
+            if ((mask & direction.mask()) != 0) {
+                names.add(direction.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Maps a move name of the {@link puzzle.State} interface to a direction code without allocating.
+     *
+     * @param name the move name
+     * @return the direction code, or {@code -1} if the name is unknown
+     */
+    public static int codeOf(String name) {
+        switch (name) {
+            case "UP":
+                return UP.ordinal();
+            case "RIGHT":
+                return RIGHT.ordinal();
+            case "DOWN":
+                return DOWN.ordinal();
+            case "LEFT":
+                return LEFT.ordinal();
+            default:
+                return -1;
+        }
+    }
+}
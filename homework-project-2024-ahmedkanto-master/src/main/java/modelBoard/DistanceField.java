@@ -0,0 +1,68 @@
+package modelBoard;
+
+/**
+ * The fewest rolls from every cell of a board to its target, for hints. The field is built once per board
+ * from the backward search of {@link Board#reachability()} in linear time, which may take a while on
+ * large boards and is best done off the user interface thread. After that, the rolls remaining and the
+ * next roll of a solution with the fewest rolls are looked up in constant time from any cell.
+ */
+public final class DistanceField {
+    /**
+     * The value of {@link #rollsToTarget(int)} and {@link #nextRoll(int)} for a dead end.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private final Board board;
+    private final RollGraph graph;
+    private final int[] rolls;
+
+    /**
+     * Builds the distance field of a board.
+     *
+     * @param board the board
+     */
+    public DistanceField(Board board) {
+        this.board = board;
+        this.graph = board.rollGraph();
+        this.rolls = board.reachability().distances();
+    }
+
+    /**
+     * Gets the board of the field.
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the fewest rolls needed to get from a cell to the target.
+     *
+     * @param cell the cell index
+     * @return the number of rolls, {@code 0} for the target, or {@link #UNREACHABLE} for a dead end
+     */
+    public int rollsToTarget(int cell) {
+        return rolls[cell];
+    }
+
+    /**
+     * Gets the first roll of a solution with the fewest rolls from a cell. Of several such rolls, the
+     * first in the order up, right, down, left is returned.
+     *
+     * @param cell the cell index
+     * @return the direction code, or {@link #UNREACHABLE} for the target and for dead ends
+     */
+    public int nextRoll(int cell) {
+        int remaining = rolls[cell];
+        if (remaining <= 0) {
+            return UNREACHABLE;
+        }
+        for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+            if (rolls[graph.destination(cell, direction)] == remaining - 1) {
+                return direction;
+            }
+        }
+        throw new AssertionError("No roll towards the target from cell " + cell);
+    }
+}
@@ -0,0 +1,240 @@
+package modelBoard;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search over a {@link RollGraph}, for boards with millions of cells.
+ * Each level is a primitive {@code int} array of cells, and the visited cells are kept in a bitset.
+ *
+ * <p>{@link #solve(int, int)} expands each level with fork-join tasks in two passes. The first pass
+ * records, for every newly reached cell, the smallest {@code frontierIndex * 4 + direction} that reaches
+ * it; the second pass lets only that smallest discoverer claim the cell and appends it to the next level
+ * in frontier order. The parent of every cell and the order of every level are therefore exactly those
+ * of the sequential search in {@link #solveSequential(int, int)}, and both return the same path.
+ */
+public class FrontierBfs {
+    private static final int CHUNK_SIZE = 2048;
+    private static final int UNCLAIMED = 0;
+
+    private final RollGraph graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a search over the specified roll graph that runs on the common fork-join pool.
+     *
+     * @param graph the roll graph of the board
+     */
+    public FrontierBfs(RollGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a search over the specified roll graph.
+     *
+     * @param graph the roll graph of the board
+     * @param pool the pool the levels are expanded on
+     */
+    public FrontierBfs(RollGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds a solution with the fewest rolls on a single thread.
+     *
+     * @param start the starting cell index
+     * @param target the target cell index
+     * @return the solution, unsolvable if the target cannot be reached
+     */
+    public Solution solveSequential(int start, int target) {
+        int cells = graph.getCells();
+        long[] visited = new long[Board.words(cells)];
+        int[] parent = new int[cells];
+        byte[] parentRoll = new byte[cells];
+        visited[start >>> 6] |= 1L << start;
+        int[] frontier = {start};
+        int frontierSize = 1;
+        int[] next = new int[16];
+        long expanded = 0;
+        while (frontierSize > 0 && (visited[target >>> 6] >>> target & 1L) == 0) {
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                int cell = frontier[i];
+                for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                    int destination = graph.destination(cell, direction);
+                    if ((visited[destination >>> 6] >>> destination & 1L) == 0) {
+                        visited[destination >>> 6] |= 1L << destination;
+                        parent[destination] = cell;
+                        parentRoll[destination] = (byte) direction;
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = destination;
+                    }
+                }
+            }
+            expanded += frontierSize;
+            int[] swap = frontier;
+            frontier = next;
+            frontierSize = nextSize;
+            next = swap;
+        }
+        if ((visited[target >>> 6] >>> target & 1L) == 0) {
+            return Solution.unsolvable(expanded);
+        }
+        return Solution.of(graph, start, target, parent, parentRoll, expanded);
+    }
+
+    /**
+     * Finds a solution with the fewest rolls, expanding each level in parallel.
+     *
+     * @param start the starting cell index
+     * @param target the target cell index
+     * @return the solution, the same as {@link #solveSequential(int, int)} returns
+     */
+    public Solution solve(int start, int target) {
+        int cells = graph.getCells();
+        Search search = new Search(cells);
+        search.markVisited(start);
+        int[] frontier = {start};
+        long expanded = 0;
+        while (frontier.length > 0 && !search.isVisited(target)) {
+            int chunks = (frontier.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            int[][] discovered = new int[chunks][];
+            pool.invoke(new Level(search, frontier, discovered, 0, chunks, false));
+            pool.invoke(new Level(search, frontier, discovered, 0, chunks, true));
+            expanded += frontier.length;
+            frontier = concatenate(discovered);
+        }
+        if (!search.isVisited(target)) {
+            return Solution.unsolvable(expanded);
+        }
+        return Solution.of(graph, start, target, search.parent, search.parentRoll, expanded);
+    }
+
+    private static int[] concatenate(int[][] parts) {
+        int size = 0;
+        for (int[] part : parts) {
+            size += part.length;
+        }
+        int[] result = new int[size];
+        int offset = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Shared state of one parallel search.
+     */
+    private static final class Search {
+        private final AtomicLongArray visited;
+        private final AtomicIntegerArray claim;
+        private final int[] parent;
+        private final byte[] parentRoll;
+
+        private Search(int cells) {
+            visited = new AtomicLongArray(Board.words(cells));
+            claim = new AtomicIntegerArray(cells);
+            parent = new int[cells];
+            parentRoll = new byte[cells];
+        }
+
+        private boolean isVisited(int cell) {
+            return (visited.get(cell >>> 6) >>> cell & 1L) != 0;
+        }
+
+        private void markVisited(int cell) {
+            visited.getAndAccumulate(cell >>> 6, 1L << cell, (word, bit) -> word | bit);
+        }
+
+        /**
+         * Encodes a discoverer so that smaller discoverers get larger, always positive, claim values.
+         */
+        private static int claimOf(int frontierIndex, int direction) {
+            return Integer.MAX_VALUE - (frontierIndex * 4 + direction);
+        }
+    }
+
+    /**
+     * Expands a range of frontier chunks, either recording claims or collecting the claimed cells. Like
+     * the tasks of the JDK, it is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class Level extends RecursiveAction {
+        private final Search search;
+        private final int[] frontier;
+        private final int[][] discovered;
+        private final int fromChunk;
+        private final int toChunk;
+        private final boolean collect;
+
+        private Level(Search search, int[] frontier, int[][] discovered, int fromChunk, int toChunk,
+                      boolean collect) {
+            this.search = search;
+            this.frontier = frontier;
+            this.discovered = discovered;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.collect = collect;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new Level(search, frontier, discovered, fromChunk, middle, collect),
+                        new Level(search, frontier, discovered, middle, toChunk, collect));
+                return;
+            }
+            int from = fromChunk * CHUNK_SIZE;
+            int to = Math.min(frontier.length, from + CHUNK_SIZE);
+            if (collect) {
+                collect(from, to);
+            } else {
+                claim(from, to);
+            }
+        }
+
+        private void claim(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int cell = frontier[i];
+                for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                    int destination = graph.destination(cell, direction);
+                    if (!search.isVisited(destination)) {
+                        search.claim.getAndAccumulate(destination, Search.claimOf(i, direction), Math::max);
+                    }
+                }
+            }
+        }
+
+        private void collect(int from, int to) {
+            int[] cells = new int[Math.min(16, (to - from) * 4)];
+            int size = 0;
+            for (int i = from; i < to; i++) {
+                int cell = frontier[i];
+                for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                    int destination = graph.destination(cell, direction);
+                    int claim = search.claim.get(destination);
+                    if (claim != UNCLAIMED && claim == Search.claimOf(i, direction)
+                            && !search.isVisited(destination)) {
+                        search.markVisited(destination);
+                        search.parent[destination] = cell;
+                        search.parentRoll[destination] = (byte) direction;
+                        if (size == cells.length) {
+                            cells = Arrays.copyOf(cells, size * 2);
+                        }
+                        cells[size++] = destination;
+                    }
+                }
+            }
+            discovered[fromChunk] = Arrays.copyOf(cells, size);
+        }
+    }
+}
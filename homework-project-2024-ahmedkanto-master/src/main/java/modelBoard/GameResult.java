@@ -1,23 +1,34 @@
 package modelBoard;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
- * Represents the result of a game.
+ * Represents the result of a game. The duration is computed when the start or end time is set and kept
+ * in nanoseconds, so comparing results reads two primitives and creates no objects; the formatted
+ * duration is built once and cached. The player name is interned in a dictionary shared by all results
+ * and the result keeps only its id, so results of the same player share one name string.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class GameResult implements Comparable<GameResult> {
-    private String playerName;
+    /**
+     * The dictionary the player names of all results are interned in.
+     */
+    static final PlayerDictionary PLAYERS = new PlayerDictionary();
+
+    private int playerId = PlayerDictionary.NO_PLAYER;
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime startTime;
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime endTime;
     private int moves;
     private boolean solved;
+    private long durationNanos;
+    private String formattedDuration;
 
     /**
      * Default constructor for GameResult.
@@ -34,11 +45,12 @@ public class GameResult implements Comparable<GameResult> {
      * @param solved whether the game was solved
      */
     public GameResult(String playerName, LocalDateTime startTime, LocalDateTime endTime, int moves, boolean solved) {
-        this.playerName = playerName;
+        this.playerId = playerIdOf(playerName);
         this.startTime = startTime;
         this.endTime = endTime;
         this.moves = moves;
         this.solved = solved;
+        updateDuration();
     }
 
     /**
@@ -47,7 +59,27 @@ public class GameResult implements Comparable<GameResult> {
      * @return the player name
      */
     public String getPlayerName() {
-        return playerName;
+        return PLAYERS.nameOf(playerId);
+    }
+
+    /**
+     * Gets the id of the player name in the dictionary shared by all results.
+     *
+     * @return the player id, {@link PlayerDictionary#NO_PLAYER} if there is no player name
+     */
+    @JsonIgnore
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the id a player name has in the dictionary shared by all results, adding the name if it is new.
+     *
+     * @param playerName the player name, may be {@code null}
+     * @return the player id, {@link PlayerDictionary#NO_PLAYER} if the name is {@code null}
+     */
+    static int playerIdOf(String playerName) {
+        return playerName == null ? PlayerDictionary.NO_PLAYER : PLAYERS.intern(playerName);
     }
 
     /**
@@ -56,7 +88,7 @@ public class GameResult implements Comparable<GameResult> {
      * @param playerName the player name to set
      */
     public void setPlayerName(String playerName) {
-        this.playerName = playerName;
+        this.playerId = playerIdOf(playerName);
     }
 
     /**
@@ -76,6 +108,7 @@ public class GameResult implements Comparable<GameResult> {
      */
     public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
+        updateDuration();
     }
 
     /**
@@ -95,6 +128,12 @@ public class GameResult implements Comparable<GameResult> {
      */
     public void setEndTime(LocalDateTime endTime) {
         this.endTime = endTime;
+        updateDuration();
+    }
+
+    private void updateDuration() {
+        durationNanos = startTime != null && endTime != null ? Duration.between(startTime, endTime).toNanos() : 0;
+        formattedDuration = null;
     }
 
     /**
@@ -138,8 +177,19 @@ public class GameResult implements Comparable<GameResult> {
      *
      * @return the duration of the game
      */
+    @JsonIgnore
     public Duration getDuration() {
-        return Duration.between(startTime, endTime);
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * Gets the duration of the game in nanoseconds.
+     *
+     * @return the duration in nanoseconds
+     */
+    @JsonIgnore
+    public long getDurationNanos() {
+        return durationNanos;
     }
 
     /**
@@ -147,11 +197,15 @@ public class GameResult implements Comparable<GameResult> {
      *
      * @return the formatted duration
      */
+    @JsonIgnore
     public String getFormattedDuration() {
-        Duration duration = getDuration();
-        long minutes = duration.toMinutes();
-        long seconds = duration.minusMinutes(minutes).getSeconds();
-        return String.format("%02d:%02d", minutes, seconds);
+        String formatted = formattedDuration;
+        if (formatted == null) {
+            long seconds = durationNanos / 1_000_000_000L;
+            formatted = String.format("%02d:%02d", seconds / 60, seconds % 60);
+            formattedDuration = formatted;
+        }
+        return formatted;
     }
 
     /**
@@ -162,7 +216,7 @@ public class GameResult implements Comparable<GameResult> {
      */
     @Override
     public int compareTo(GameResult other) {
-        int durationCompare = getDuration().compareTo(other.getDuration());
+        int durationCompare = Long.compare(durationNanos, other.durationNanos);
         if (durationCompare != 0) {
             return durationCompare;
         }
@@ -0,0 +1,108 @@
+package modelBoard;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes game results as a JSON array, the format of {@code highscores.json}. The mapper is
+ * configured once and its reader and writer are shared, and the array is streamed one result at a time
+ * instead of being bound as a whole list. Results are written without the derived duration fields; files
+ * that still contain them can be read.
+ */
+public final class GameResultCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final ObjectReader READER = MAPPER.readerFor(GameResult.class);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(GameResult.class);
+
+    private GameResultCodec() {
+    }
+
+    /**
+     * Reads the results of a JSON array one at a time.
+     *
+     * @param in the stream to read from, not closed
+     * @param consumer the consumer every result is passed to
+     * @return the number of results read
+     * @throws IOException if the stream cannot be read or does not hold an array of results
+     */
+    public static int read(InputStream in, Consumer<GameResult> consumer) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of game results");
+            }
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(READER.readValue(parser));
+                count++;
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IOException("Expected a game result at " + parser.currentLocation());
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Reads all results of a JSON file.
+     *
+     * @param path the path of the file
+     * @return the results
+     * @throws IOException if the file cannot be read or does not hold an array of results
+     */
+    public static List<GameResult> readAll(Path path) throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(path)) {
+            read(in, results::add);
+        }
+        return results;
+    }
+
+    /**
+     * Writes results as a JSON array one at a time.
+     *
+     * @param out the stream to write to, not closed
+     * @param results the results to write
+     * @throws IOException if the results cannot be written
+     */
+    public static void write(OutputStream out, Iterable<GameResult> results) throws IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (GameResult result : results) {
+                WRITER.writeValue(generator, result);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes results to a JSON file, replacing it atomically by writing a temporary file first.
+     *
+     * @param path the path of the file
+     * @param results the results to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAll(Path path, Iterable<GameResult> results) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            write(out, results);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
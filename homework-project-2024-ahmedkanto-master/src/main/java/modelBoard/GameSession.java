@@ -0,0 +1,65 @@
+package modelBoard;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Plays games on a board without a user interface, for simulations and load tests. The rolls are chosen
+ * by a {@link MovePolicy}, and time is virtual: every roll takes a fixed number of nanoseconds, so a
+ * game ends at its start time plus its rolls times that duration, however fast it is actually played.
+ * The session reuses one {@link LabyrinthModel}, so playing a game allocates only its {@link GameResult}.
+ * A session is not thread-safe; use one session per thread.
+ */
+public class GameSession {
+    private final LabyrinthModel model;
+    private final MovePolicy policy;
+    private final SplittableRandom random;
+    private final long nanosPerRoll;
+
+    /**
+     * Creates a session.
+     *
+     * @param board the board to play on
+     * @param policy the policy choosing the rolls
+     * @param random the random generator passed to the policy
+     * @param nanosPerRoll the virtual time every roll takes, in nanoseconds
+     */
+    public GameSession(Board board, MovePolicy policy, SplittableRandom random, long nanosPerRoll) {
+        this.model = new LabyrinthModel(board, LocalDateTime.MIN);
+        this.policy = policy;
+        this.random = random;
+        this.nanosPerRoll = nanosPerRoll;
+    }
+
+    /**
+     * Plays one game.
+     *
+     * @param playerName the name of the simulated player
+     * @param startTime the virtual start time of the game
+     * @param maxRolls the number of rolls after which the game is given up
+     * @return the result of the game, solved if the ball reached the target
+     */
+    public GameResult play(String playerName, LocalDateTime startTime, int maxRolls) {
+        model.reset(startTime);
+        int rolls = 0;
+        while (!model.isGameWon() && rolls < maxRolls) {
+            int direction = policy.nextRoll(model, rolls, random);
+            if (direction == MovePolicy.GIVE_UP) {
+                break;
+            }
+            model.apply(direction);
+            rolls++;
+        }
+        return new GameResult(playerName, startTime, startTime.plusNanos(rolls * nanosPerRoll), model.getMoves(),
+                model.isGameWon());
+    }
+
+    /**
+     * Gets the model the games are played on, as left by the last game.
+     *
+     * @return the model
+     */
+    public LabyrinthModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,98 @@
+package modelBoard;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line generator of boards. The boards are generated in parallel by a {@link LabyrinthGenerator}
+ * and written to a {@link BoardFile}, or with {@code --text} in text form separated by blank lines, as read
+ * by {@link BatchSolveCli}. The same seed always gives the same boards. Throughput is reported on standard
+ * error.
+ *
+ * <p>Usage: {@code GeneratorCli [--rows N] [--cols N] [--density D] [--min-rolls N] [--max-rolls N]
+ * [--count N] [--seed N] [--threads N] [--text] OUTPUT}
+ */
+public class GeneratorCli {
+
+    /**
+     * The main method of the application.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the boards cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = 7;
+        int cols = 7;
+        double density = 0.25;
+        int minRolls = 6;
+        int maxRolls = 12;
+        int count = 1000;
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean text = false;
+        Path output = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rows":
+                    rows = Integer.parseInt(args[++i]);
+                    break;
+                case "--cols":
+                    cols = Integer.parseInt(args[++i]);
+                    break;
+                case "--density":
+                    density = Double.parseDouble(args[++i]);
+                    break;
+                case "--min-rolls":
+                    minRolls = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-rolls":
+                    maxRolls = Integer.parseInt(args[++i]);
+                    break;
+                case "--count":
+                    count = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--text":
+                    text = true;
+                    break;
+                default:
+                    output = Path.of(args[i]);
+            }
+        }
+        if (output == null) {
+            System.err.println("Usage: GeneratorCli [--rows N] [--cols N] [--density D] [--min-rolls N]"
+                    + " [--max-rolls N] [--count N] [--seed N] [--threads N] [--text] OUTPUT");
+            System.exit(2);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<Board> boards;
+        long started = System.nanoTime();
+        try {
+            boards = new LabyrinthGenerator(rows, cols, density, minRolls, maxRolls, pool).generate(seed, count);
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (text) {
+            try (Writer writer = Files.newBufferedWriter(output)) {
+                for (Board board : boards) {
+                    writer.write(board.toText());
+                    writer.write('\n');
+                }
+            }
+        } else {
+            BoardFile.write(output, boards);
+        }
+        System.err.printf("Generated %d boards in %.3f s (%.1f boards/s)%n", count, seconds, count / seconds);
+    }
+}
@@ -0,0 +1,280 @@
+package modelBoard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only file of game results. The file starts with the {@link #MAGIC} number and a format version,
+ * followed by fixed-width records of {@link HighScoreRecords#SIZE} bytes, so adding a result is a single
+ * positioned write at the end of the file. Player names are stored by id in a {@link PlayerDictionary}
+ * that is kept next to the log. Its ids are stable across runs, unlike the ids of
+ * {@link GameResult#getPlayerId()}, which depend on the order names are first seen in a process; the log
+ * translates the ids of the results it writes once per player and keeps the translation in an array.
+ *
+ * <p>Every record carries a checksum. When the file is opened, it is scanned to the end: the records
+ * after the last intact one, for example because the game crashed while writing, are cut off, while
+ * damaged records between intact ones are skipped and counted as dead. {@link #compact()} rewrites the
+ * file without the dead records, writing a temporary file and moving it over the log in one atomic step;
+ * every intact record is kept.
+ */
+public final class HighScoreLog implements Closeable {
+    /**
+     * The number every high score log starts with, the characters {@code LHSC}.
+     */
+    public static final int MAGIC = 0x4C485343;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int RECORDS_PER_READ = 2048;
+
+    private final Path path;
+    private final PlayerDictionary players;
+    private final ByteBuffer record = ByteBuffer.allocate(HighScoreRecords.SIZE);
+    private int[] storedIds = new int[0];
+    private FileChannel channel;
+    private long end;
+    private long discardedBytes;
+    private int deadRecords;
+
+    private HighScoreLog(Path path, PlayerDictionary players) {
+        this.path = path;
+        this.players = players;
+    }
+
+    /**
+     * Opens a high score log, creating the file if it does not exist, dropping any records after the
+     * last intact one and counting the damaged records before it.
+     *
+     * @param path the path of the file
+     * @param players the dictionary player names are stored in
+     * @return the opened log
+     * @throws IOException if the file cannot be read or repaired, or is not a high score log
+     */
+    public static HighScoreLog open(Path path, PlayerDictionary players) throws IOException {
+        HighScoreLog log = new HighScoreLog(path, players);
+        log.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            log.recover();
+        } catch (IOException | RuntimeException e) {
+            log.channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    private void recover() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            channel.truncate(0);
+            writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(), 0);
+            discardedBytes = size;
+            end = HEADER_SIZE;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a high score log: " + path);
+        }
+        end = HEADER_SIZE;
+        int damaged = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * HighScoreRecords.SIZE);
+        for (long position = HEADER_SIZE; position + HighScoreRecords.SIZE <= size; ) {
+            int length = (int) Math.min(buffer.capacity(), (size - position) / HighScoreRecords.SIZE * HighScoreRecords.SIZE);
+            readFully(buffer.clear(), position, length);
+            for (int offset = 0; offset < length; offset += HighScoreRecords.SIZE) {
+                position += HighScoreRecords.SIZE;
+                if (HighScoreRecords.isValid(buffer, offset)) {
+                    end = position;
+                    deadRecords += damaged;
+                    damaged = 0;
+                } else {
+                    damaged++;
+                }
+            }
+        }
+        if (end < size) {
+            discardedBytes = size - end;
+            channel.truncate(end);
+            channel.force(false);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of high score log");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Appends a result to the end of the log.
+     *
+     * @param result the result to append
+     * @throws IOException if the result cannot be written
+     */
+    public synchronized void append(GameResult result) throws IOException {
+        record.clear();
+        HighScoreRecords.write(record, 0, storedIdOf(result), result);
+        writeFully(channel, record, end);
+        end += HighScoreRecords.SIZE;
+    }
+
+    /**
+     * Appends results to the end of the log with a single write.
+     *
+     * @param results the results to append
+     * @throws IOException if the results cannot be written
+     */
+    public synchronized void appendAll(Collection<GameResult> results) throws IOException {
+        ByteBuffer batch = ByteBuffer.allocate(results.size() * HighScoreRecords.SIZE);
+        for (GameResult result : results) {
+            HighScoreRecords.write(batch, batch.position(), storedIdOf(result), result);
+            batch.position(batch.position() + HighScoreRecords.SIZE);
+        }
+        writeFully(channel, batch.flip(), end);
+        end += batch.limit();
+    }
+
+    private int storedIdOf(GameResult result) throws IOException {
+        int id = result.getPlayerId();
+        if (id == PlayerDictionary.NO_PLAYER) {
+            return PlayerDictionary.NO_PLAYER;
+        }
+        if (id >= storedIds.length) {
+            int length = storedIds.length;
+            storedIds = Arrays.copyOf(storedIds, Math.max(id + 1, 2 * length));
+            Arrays.fill(storedIds, length, storedIds.length, PlayerDictionary.NO_PLAYER);
+        }
+        if (storedIds[id] == PlayerDictionary.NO_PLAYER) {
+            storedIds[id] = players.idOf(result.getPlayerName());
+        }
+        return storedIds[id];
+    }
+
+    /**
+     * Reads all results in the order they were appended.
+     *
+     * @return the results
+     * @throws IOException if the log cannot be read
+     */
+    public synchronized List<GameResult> readAll() throws IOException {
+        List<GameResult> results = new ArrayList<>(size());
+        ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * HighScoreRecords.SIZE);
+        for (long position = HEADER_SIZE; position < end; ) {
+            int length = (int) Math.min(buffer.capacity(), end - position);
+            readFully(buffer.clear(), position, length);
+            for (int offset = 0; offset < length; offset += HighScoreRecords.SIZE) {
+                if (HighScoreRecords.isValid(buffer, offset)) {
+                    results.add(HighScoreRecords.read(buffer, offset, players));
+                }
+            }
+            position += length;
+        }
+        return results;
+    }
+
+    /**
+     * Rewrites the log without its dead records. The intact records are copied in order as they are, so
+     * the log holds the same results afterwards. The new log is written to a temporary file, forced to disk
+     * and then moved over the old one, so a crash leaves either the old or the new log.
+     *
+     * @throws IOException if the log cannot be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * HighScoreRecords.SIZE);
+            writeFully(out, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(), 0);
+            long written = HEADER_SIZE;
+            for (long position = HEADER_SIZE; position < end; ) {
+                int length = (int) Math.min(buffer.capacity(), end - position);
+                readFully(buffer.clear(), position, length);
+                int kept = 0;
+                for (int offset = 0; offset < length; offset += HighScoreRecords.SIZE) {
+                    if (HighScoreRecords.isValid(buffer, offset)) {
+                        buffer.put(kept, buffer, offset, HighScoreRecords.SIZE);
+                        kept += HighScoreRecords.SIZE;
+                    }
+                }
+                writeFully(out, buffer.position(0).limit(kept), written);
+                written += kept;
+                position += length;
+            }
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deadRecords = 0;
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            end = channel.size();
+        }
+    }
+
+    /**
+     * Forces the appended results to the storage device.
+     *
+     * @throws IOException if the log cannot be forced
+     */
+    public synchronized void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Gets the number of results in the log.
+     *
+     * @return the number of intact records
+     */
+    public synchronized int size() {
+        return (int) ((end - HEADER_SIZE) / HighScoreRecords.SIZE) - deadRecords;
+    }
+
+    /**
+     * Gets the number of damaged records between intact ones, which {@link #compact()} removes.
+     *
+     * @return the number of dead records
+     */
+    public synchronized int getDeadRecords() {
+        return deadRecords;
+    }
+
+    /**
+     * Gets the number of bytes dropped when the log was opened because they did not form intact records.
+     *
+     * @return the number of dropped bytes, zero if the log was intact
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
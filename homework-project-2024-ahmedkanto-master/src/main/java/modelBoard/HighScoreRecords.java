@@ -0,0 +1,116 @@
+package modelBoard;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Codec for the fixed-width binary form of a game result. Every record is {@link #SIZE} bytes:
+ * <pre>
+ * offset  0  int   player id, see {@link PlayerDictionary}
+ * offset  4  long  start time in epoch seconds, UTC
+ * offset 12  long  end time in epoch seconds, UTC
+ * offset 20  int   number of moves
+ * offset 24  int   flags, {@link #SOLVED}
+ * offset 28  int   CRC-32 of the previous 28 bytes
+ * </pre>
+ * All accessors read at an absolute offset and leave the position of the buffer unchanged.
+ */
+final class HighScoreRecords {
+    /**
+     * The size of a record in bytes.
+     */
+    static final int SIZE = 32;
+
+    /**
+     * The flag of a solved game.
+     */
+    static final int SOLVED = 1;
+
+    private static final int PLAYER = 0;
+    private static final int START = 4;
+    private static final int END = 12;
+    private static final int MOVES = 20;
+    private static final int FLAGS = 24;
+    private static final int CRC = 28;
+
+    private HighScoreRecords() {
+    }
+
+    /**
+     * Writes a result as a record.
+     *
+     * @param buffer the buffer to write to
+     * @param offset the offset of the record in the buffer
+     * @param playerId the id of the player
+     * @param result the result to write
+     */
+    static void write(ByteBuffer buffer, int offset, int playerId, GameResult result) {
+        buffer.putInt(offset + PLAYER, playerId);
+        buffer.putLong(offset + START, epochSecond(result.getStartTime()));
+        buffer.putLong(offset + END, epochSecond(result.getEndTime()));
+        buffer.putInt(offset + MOVES, result.getMoves());
+        buffer.putInt(offset + FLAGS, result.isSolved() ? SOLVED : 0);
+        buffer.putInt(offset + CRC, checksum(buffer, offset));
+    }
+
+    /**
+     * Checks the checksum of a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @return true if the record is intact, false otherwise
+     */
+    static boolean isValid(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + CRC) == checksum(buffer, offset);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CRC));
+        return (int) crc.getValue();
+    }
+
+    static int playerId(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + PLAYER);
+    }
+
+    static long startSecond(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + START);
+    }
+
+    static long endSecond(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + END);
+    }
+
+    static int moves(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + MOVES);
+    }
+
+    static boolean isSolved(ByteBuffer buffer, int offset) {
+        return (buffer.getInt(offset + FLAGS) & SOLVED) != 0;
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record in the buffer
+     * @param players the dictionary the player id is resolved in
+     * @return the result
+     */
+    static GameResult read(ByteBuffer buffer, int offset, PlayerDictionary players) {
+        return new GameResult(players.nameOf(playerId(buffer, offset)),
+                dateTime(startSecond(buffer, offset)), dateTime(endSecond(buffer, offset)),
+                moves(buffer, offset), isSolved(buffer, offset));
+    }
+
+    static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime dateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
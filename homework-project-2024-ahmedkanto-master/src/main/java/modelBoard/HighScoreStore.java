@@ -0,0 +1,316 @@
+package modelBoard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Read-only, indexed view of a {@link HighScoreLog} file for histories of millions of results. The file
+ * is memory-mapped and results are identified by their record number; the accessors and queries read the
+ * mapped records directly, so no {@link GameResult} or {@link LocalDateTime} is created unless
+ * {@link #toGameResult(int)} is called.
+ *
+ * <p>Three indexes of record numbers are built when the store is opened:
+ * <ul>
+ *     <li>the ranking, solved games first, each ordered by duration, moves and start time like
+ *     {@link GameResult#compareTo(GameResult)},</li>
+ *     <li>the records of every player in ranking order, stored in compressed form like {@link ReverseRollIndex},</li>
+ *     <li>the records ordered by start time, for date range queries by binary search.</li>
+ * </ul>
+ * The store is a snapshot of the file at the time it is opened; results appended later are not visible.
+ */
+public final class HighScoreStore implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final PlayerDictionary players;
+    private final int size;
+    private final int[] ranking;
+    private final int[] playerOffsets;
+    private final int[] playerRecords;
+    private final int[] byStart;
+
+    private HighScoreStore(FileChannel channel, MappedByteBuffer buffer, PlayerDictionary players, int size) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.players = players;
+        this.size = size;
+        long[] starts = new long[size];
+        long[] durations = new long[size];
+        int[] moves = new int[size];
+        boolean[] solved = new boolean[size];
+        for (int record = 0; record < size; record++) {
+            starts[record] = getStartSecond(record);
+            durations[record] = getEndSecond(record) - starts[record];
+            moves[record] = getMoves(record);
+            solved[record] = isSolved(record);
+        }
+        this.ranking = sorted((a, b) -> {
+            int result = Boolean.compare(solved[b], solved[a]);
+            if (result == 0) {
+                result = Long.compare(durations[a], durations[b]);
+            }
+            if (result == 0) {
+                result = Integer.compare(moves[a], moves[b]);
+            }
+            if (result == 0) {
+                result = Long.compare(starts[a], starts[b]);
+            }
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+        this.byStart = sorted((a, b) -> {
+            int result = Long.compare(starts[a], starts[b]);
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+        int maxId = PlayerDictionary.NO_PLAYER;
+        for (int record = 0; record < size; record++) {
+            maxId = Math.max(maxId, getPlayerId(record));
+        }
+        this.playerOffsets = new int[maxId + 3];
+        for (int record = 0; record < size; record++) {
+            playerOffsets[getPlayerId(record) + 2]++;
+        }
+        for (int bucket = 1; bucket < playerOffsets.length; bucket++) {
+            playerOffsets[bucket] += playerOffsets[bucket - 1];
+        }
+        this.playerRecords = new int[size];
+        int[] next = Arrays.copyOf(playerOffsets, playerOffsets.length - 1);
+        for (int record : ranking) {
+            playerRecords[next[getPlayerId(record) + 1]++] = record;
+        }
+    }
+
+    /**
+     * Opens a high score log file as a store. Records from the first damaged one on are ignored, so the
+     * log should be {@linkplain HighScoreLog#compact() compacted} if it has dead records.
+     *
+     * @param path the path of the high score log
+     * @param players the dictionary the player ids of the log refer to
+     * @return the opened store
+     * @throws IOException if the file cannot be mapped, is larger than 2 GiB or is not a high score log
+     */
+    public static HighScoreStore open(Path path, PlayerDictionary players) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("High score log larger than 2 GiB: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (length < HighScoreLog.HEADER_SIZE || buffer.getInt(0) != HighScoreLog.MAGIC
+                    || buffer.getInt(Integer.BYTES) != HighScoreLog.VERSION) {
+                throw new IOException("Not a high score log: " + path);
+            }
+            int size = 0;
+            for (int offset = HighScoreLog.HEADER_SIZE; offset + HighScoreRecords.SIZE <= length
+                    && HighScoreRecords.isValid(buffer, offset); offset += HighScoreRecords.SIZE) {
+                size++;
+            }
+            return new HighScoreStore(channel, buffer, players, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static int offset(int record) {
+        return HighScoreLog.HEADER_SIZE + record * HighScoreRecords.SIZE;
+    }
+
+    /**
+     * Sorts all record numbers with a bottom-up merge sort, which needs no boxing of the record numbers.
+     */
+    private int[] sorted(IntBinaryOperator comparator) {
+        int[] records = new int[size];
+        Arrays.setAll(records, record -> record);
+        int[] merged = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int from = 0; from < size; from += 2 * width) {
+                int middle = Math.min(from + width, size);
+                int to = Math.min(from + 2 * width, size);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; i++) {
+                    if (left < middle && (right == to
+                            || comparator.applyAsInt(records[left], records[right]) <= 0)) {
+                        merged[i] = records[left++];
+                    } else {
+                        merged[i] = records[right++];
+                    }
+                }
+            }
+            int[] swap = records;
+            records = merged;
+            merged = swap;
+        }
+        return records;
+    }
+
+    /**
+     * Gets the number of results in the store.
+     *
+     * @return the number of results
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the best results.
+     *
+     * @param n the largest number of results to return
+     * @return the record numbers of at most {@code n} best results, best first, solved games before
+     *         unsolved ones
+     */
+    public int[] top(int n) {
+        return Arrays.copyOf(ranking, Math.max(0, Math.min(n, size)));
+    }
+
+    /**
+     * Gets the results of a player.
+     *
+     * @param playerName the name of the player
+     * @return the record numbers of the results of the player, best first
+     */
+    public int[] ofPlayer(String playerName) {
+        int id = players.find(playerName);
+        if (id == PlayerDictionary.NO_PLAYER || id + 2 >= playerOffsets.length) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(playerRecords, playerOffsets[id + 1], playerOffsets[id + 2]);
+    }
+
+    /**
+     * Gets the best solved result of a player.
+     *
+     * @param playerName the name of the player
+     * @return the record number of the best solved result of the player, -1 if the player has no solved
+     *         results
+     */
+    public int bestOf(String playerName) {
+        int id = players.find(playerName);
+        if (id == PlayerDictionary.NO_PLAYER || id + 2 >= playerOffsets.length
+                || playerOffsets[id + 1] == playerOffsets[id + 2]) {
+            return -1;
+        }
+        int record = playerRecords[playerOffsets[id + 1]];
+        return isSolved(record) ? record : -1;
+    }
+
+    /**
+     * Gets the results of games started in a time range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the record numbers of the results, in order of start time
+     */
+    public int[] startedBetween(LocalDateTime from, LocalDateTime to) {
+        int first = firstStartedAt(HighScoreRecords.epochSecond(from));
+        int last = firstStartedAt(HighScoreRecords.epochSecond(to));
+        return Arrays.copyOfRange(byStart, first, Math.max(first, last));
+    }
+
+    private int firstStartedAt(long second) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getStartSecond(byStart[middle]) < second) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the player id of a result.
+     *
+     * @param record the record number
+     * @return the player id, see {@link PlayerDictionary}
+     */
+    public int getPlayerId(int record) {
+        return HighScoreRecords.playerId(buffer, offset(record));
+    }
+
+    /**
+     * Gets the player name of a result.
+     *
+     * @param record the record number
+     * @return the player name
+     */
+    public String getPlayerName(int record) {
+        return players.nameOf(getPlayerId(record));
+    }
+
+    /**
+     * Gets the start time of a result.
+     *
+     * @param record the record number
+     * @return the start time in epoch seconds, UTC
+     */
+    public long getStartSecond(int record) {
+        return HighScoreRecords.startSecond(buffer, offset(record));
+    }
+
+    /**
+     * Gets the end time of a result.
+     *
+     * @param record the record number
+     * @return the end time in epoch seconds, UTC
+     */
+    public long getEndSecond(int record) {
+        return HighScoreRecords.endSecond(buffer, offset(record));
+    }
+
+    /**
+     * Gets the duration of a result.
+     *
+     * @param record the record number
+     * @return the duration in seconds
+     */
+    public long getDurationSeconds(int record) {
+        return getEndSecond(record) - getStartSecond(record);
+    }
+
+    /**
+     * Gets the number of moves of a result.
+     *
+     * @param record the record number
+     * @return the number of moves
+     */
+    public int getMoves(int record) {
+        return HighScoreRecords.moves(buffer, offset(record));
+    }
+
+    /**
+     * Checks if the game of a result was solved.
+     *
+     * @param record the record number
+     * @return true if the game was solved, false otherwise
+     */
+    public boolean isSolved(int record) {
+        return HighScoreRecords.isSolved(buffer, offset(record));
+    }
+
+    /**
+     * Decodes a result, for example to show it in the high score table.
+     *
+     * @param record the record number
+     * @return the result
+     */
+    public GameResult toGameResult(int record) {
+        return HighScoreRecords.read(buffer, offset(record), players);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
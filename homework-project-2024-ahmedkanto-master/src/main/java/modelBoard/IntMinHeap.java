@@ -0,0 +1,113 @@
+package modelBoard;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of {@code int} values ordered by {@code int} priorities, stored in two parallel
+ * arrays so that pushing and popping allocates nothing once the heap has grown to its working size.
+ */
+class IntMinHeap {
+    private int[] priorities;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param initialCapacity the number of entries the heap can hold before growing
+     */
+    IntMinHeap(int initialCapacity) {
+        priorities = new int[Math.max(1, initialCapacity)];
+        values = new int[priorities.length];
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries in the heap.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a value with the specified priority.
+     *
+     * @param priority the priority, smaller is served first
+     * @param value the value
+     */
+    void push(int priority, int value) {
+        if (size == priorities.length) {
+            priorities = Arrays.copyOf(priorities, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            priorities[index] = priorities[parent];
+            values[index] = values[parent];
+            index = parent;
+        }
+        priorities[index] = priority;
+        values[index] = value;
+    }
+
+    /**
+     * Gets the smallest priority in the heap.
+     *
+     * @return the smallest priority
+     */
+    int peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the value with the smallest priority.
+     *
+     * @return the removed value
+     */
+    int pop() {
+        int top = values[0];
+        size--;
+        if (size > 0) {
+            int priority = priorities[size];
+            int value = values[size];
+            int index = 0;
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priority <= priorities[child]) {
+                    break;
+                }
+                priorities[index] = priorities[child];
+                values[index] = values[child];
+                index = child;
+            }
+            priorities[index] = priority;
+            values[index] = value;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,143 @@
+package modelBoard;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates random boards whose solution with the fewest rolls lies in a difficulty band. Candidates get
+ * random walls and a random target. The {@link Reachability} of the target, one breadth-first search
+ * backward from it, gives the fewest rolls from every cell, and the start is drawn from the cells whose
+ * count lies in the band. A wall layout is rejected only if no cell does, and no search is spent on
+ * unsolvable boards or on starts outside the band.
+ *
+ * <p>Generation is reproducible: board {@code index} of a seed is drawn from its own random generator,
+ * seeded from the seed and the index alone, so {@link #generate(long, int)} returns the same boards in
+ * the same order however many threads build them.
+ */
+public class LabyrinthGenerator {
+    /**
+     * The number of candidates tried for one board before giving up.
+     */
+    public static final int MAX_ATTEMPTS = 100_000;
+
+    private final int rows;
+    private final int cols;
+    private final double wallDensity;
+    private final int minRolls;
+    private final int maxRolls;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a generator that runs on the common fork-join pool.
+     *
+     * @param rows the number of rows of the boards
+     * @param cols the number of columns of the boards
+     * @param wallDensity the probability of a wall below and to the right of each cell
+     * @param minRolls the smallest accepted optimal roll count
+     * @param maxRolls the largest accepted optimal roll count
+     * @throws IllegalArgumentException if the size, density or band is invalid
+     */
+    public LabyrinthGenerator(int rows, int cols, double wallDensity, int minRolls, int maxRolls) {
+        this(rows, cols, wallDensity, minRolls, maxRolls, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param rows the number of rows of the boards
+     * @param cols the number of columns of the boards
+     * @param wallDensity the probability of a wall below and to the right of each cell
+     * @param minRolls the smallest accepted optimal roll count
+     * @param maxRolls the largest accepted optimal roll count
+     * @param pool the pool the boards are generated on
+     * @throws IllegalArgumentException if the size, density or band is invalid
+     */
+    public LabyrinthGenerator(int rows, int cols, double wallDensity, int minRolls, int maxRolls,
+                              ForkJoinPool pool) {
+        if (rows < 1 || cols < 1 || rows > Board.MAX_DIMENSION || cols > Board.MAX_DIMENSION || rows * cols < 2) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        if (!(wallDensity >= 0 && wallDensity <= 1)) {
+            throw new IllegalArgumentException("Wall density must be between 0 and 1: " + wallDensity);
+        }
+        if (minRolls < 1 || maxRolls < minRolls) {
+            throw new IllegalArgumentException("Invalid roll band: " + minRolls + ".." + maxRolls);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.wallDensity = wallDensity;
+        this.minRolls = minRolls;
+        this.maxRolls = maxRolls;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates boards in parallel.
+     *
+     * @param seed the seed of the boards
+     * @param count the number of boards
+     * @return the boards with indexes {@code 0} to {@code count - 1} of the seed
+     * @throws IllegalStateException if no board in the band was found for an index within
+     *         {@link #MAX_ATTEMPTS} candidates
+     */
+    public List<Board> generate(long seed, int count) {
+        Board[] boards = pool.submit(() -> IntStream.range(0, count).parallel()
+                .mapToObj(index -> generateBoard(seed, index))
+                .toArray(Board[]::new)).join();
+        return Arrays.asList(boards);
+    }
+
+    /**
+     * Generates one board.
+     *
+     * @param seed the seed of the board
+     * @param index the index of the board
+     * @return the board with the specified index of the seed
+     * @throws IllegalStateException if no board in the band was found within {@link #MAX_ATTEMPTS}
+     *         candidates
+     */
+    public Board generateBoard(long seed, int index) {
+        SplittableRandom random = new SplittableRandom(Board.mix(seed ^ Board.mix(index)));
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Board board = candidate(random);
+            if (board != null) {
+                return board;
+            }
+        }
+        throw new IllegalStateException("No " + rows + "x" + cols + " board with " + minRolls + ".." + maxRolls
+                + " rolls found in " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Draws one candidate.
+     *
+     * @return the candidate, or null if no cell needs a number of rolls in the band to reach the target
+     */
+    private Board candidate(SplittableRandom random) {
+        int cells = rows * cols;
+        long[] horizontal = new long[Board.words(cells)];
+        long[] vertical = new long[Board.words(cells)];
+        for (int cell = 0; cell < cells; cell++) {
+            // walls on the edge of the board would not change any roll
+            if (cell < cells - cols && random.nextDouble() < wallDensity) {
+                horizontal[cell >>> 6] |= 1L << cell;
+            }
+            if (cell % cols < cols - 1 && random.nextDouble() < wallDensity) {
+                vertical[cell >>> 6] |= 1L << cell;
+            }
+        }
+        int target = random.nextInt(cells);
+        // the roll graph depends on the walls only, so the start can be chosen after building it
+        RollGraph graph = new Board(rows, cols, target, target, horizontal, vertical).rollGraph();
+        Reachability reachability = new Reachability(graph, target);
+        int starts = reachability.countWithin(minRolls, maxRolls);
+        if (starts == 0) {
+            return null;
+        }
+        int start = reachability.cellWithin(minRolls, maxRolls, random.nextInt(starts));
+        return new Board(rows, cols, start, target, horizontal, vertical);
+    }
+}
@@ -5,52 +5,290 @@ import puzzle.State;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 /**
- * Represents the model for the Labyrinth puzzle game.
+ * Represents the model for the Labyrinth puzzle game. Changes of the ball position and the move count
+ * are reported to the registered {@link ModelListener}s. With a {@link MoveHistory} set, every roll is
+ * recorded and can be undone and redone until the ball reaches the target. Undoing a roll takes back its
+ * moves from {@link #getMoves()} but not from {@link #getMovesPlayed()}, which a game is scored by.
  */
 public class LabyrinthModel implements State<String>, Cloneable {
-    private static final int ROWS = 7;
-    private static final int COLS = 7;
-    private int ballRow;
-    private int ballCol;
-    private final int targetRow = 5;
-    private final int targetCol = 2;
+    static final int UP = RollGraph.UP;
+    static final int RIGHT = RollGraph.RIGHT;
+    static final int DOWN = RollGraph.DOWN;
+    static final int LEFT = RollGraph.LEFT;
+    private static final ModelListener[] NO_LISTENERS = new ModelListener[0];
+    private static final int NOT_FINISHED = -1;
 
+    private final Board board;
+    private final RollGraph graph;
+    private int ballCell;
     private int moves;
+    private int movesPlayed;
+    private int finishedAt = NOT_FINISHED;
     private LocalDateTime startTime;
+    private ModelListener[] listeners = NO_LISTENERS;
+    private MoveHistory history;
 
-    private final boolean[][] horizontalWalls = {
-            {false, false, true, false, false, false, true},
-            {false, false, false, false, false, false, false},
-            {false, true, false, false, false, false, false},
-            {false, false, false, true, false, false, true},
-            {true, false, false, false, true, false, false},
-            {false, false, true, false, false, false, false},
-            {false, false, false, false, false, false, false},
-    };
-
-    private final boolean[][] verticalWalls = {
-            {true, false, false, true, false, false, false},
-            {false, false, false, false, false, false, false},
-            {false, false, true, false, false, true, false},
-            {false, false, false, true, true, false, false},
-            {false, false, false, false, false, false, false},
-            {false, true, true, false, false, false, false},
-            {false, false, false, true, false, true, false},
-    };
-
-    /**
-     * Constructs a new LabyrinthModel with the initial position of the ball and the start time.
+    /**
+     * Constructs a new LabyrinthModel on the board of the original game, with the initial position of
+     * the ball and the start time.
      */
     public LabyrinthModel() {
-        ballRow = 1;
-        ballCol = 4;
+        this(Board.classic());
+    }
+
+    /**
+     * Constructs a new LabyrinthModel on the specified board, with the ball in the start cell of the
+     * board and the current time as start time.
+     *
+     * @param board the board to play on
+     */
+    public LabyrinthModel(Board board) {
+        this(board, LocalDateTime.now());
+    }
+
+    /**
+     * Constructs a new LabyrinthModel on the specified board, with the ball in the start cell of the
+     * board and the specified start time.
+     *
+     * @param board the board to play on
+     * @param startTime the start time of the game
+     */
+    public LabyrinthModel(Board board, LocalDateTime startTime) {
+        this.board = board;
+        graph = board.rollGraph();
+        ballCell = board.getStartCell();
+        this.startTime = startTime;
+    }
+
+    /**
+     * Starts a new game on the same board, putting the ball back in the start cell.
+     *
+     * @param startTime the start time of the new game
+     */
+    public void reset(LocalDateTime startTime) {
+        int previousCell = ballCell;
+        ballCell = board.getStartCell();
         moves = 0;
-        startTime = LocalDateTime.now();
+        movesPlayed = 0;
+        finishedAt = NOT_FINISHED;
+        this.startTime = startTime;
+        if (history != null) {
+            history.clear();
+        }
+        fire(previousCell);
+    }
+
+    /**
+     * Sets the history the rolls are recorded in from now on. Games without a history, such as those of
+     * the solvers and simulations, record nothing. The history is not copied by {@link #clone()}.
+     *
+     * @param history the history, or null to stop recording
+     */
+    public void setHistory(MoveHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Gets the history the rolls are recorded in.
+     *
+     * @return the history, or null if the rolls are not recorded
+     */
+    public MoveHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Checks if the ball has reached the target since the game was started. A finished game records no
+     * more rolls, and its rolls can no longer be undone or redone.
+     *
+     * @return true if the game is finished, false otherwise
+     */
+    public boolean isFinished() {
+        return finishedAt != NOT_FINISHED;
+    }
+
+    /**
+     * Checks if there is a roll to undo.
+     *
+     * @return true if the game has a history with a roll to undo and is not finished
+     */
+    public boolean canUndoMove() {
+        return history != null && !isFinished() && history.canUndo();
+    }
+
+    /**
+     * Checks if there is an undone roll to redo.
+     *
+     * @return true if the game has a history with a roll to redo and is not finished
+     */
+    public boolean canRedoMove() {
+        return history != null && !isFinished() && history.canRedo();
+    }
+
+    /**
+     * Takes back the last roll recorded in the history. The moves of the roll are still counted by
+     * {@link #getMovesPlayed()}.
+     *
+     * @return true if a roll was taken back, false if there is nothing to undo or the game is finished
+     */
+    public boolean undoMove() {
+        if (!canUndoMove()) {
+            return false;
+        }
+        long entry = history.undo();
+        int previousCell = ballCell;
+        ballCell = MoveHistory.fromCell(entry);
+        moves -= MoveHistory.distance(entry);
+        fire(previousCell);
+        return true;
+    }
+
+    /**
+     * Makes the last undone roll again. Its moves are counted by {@link #getMovesPlayed()} again.
+     *
+     * @return true if a roll was made, false if there is nothing to redo or the game is finished
+     */
+    public boolean redoMove() {
+        if (!canRedoMove()) {
+            return false;
+        }
+        long entry = history.redo();
+        int previousCell = ballCell;
+        ballCell = graph.destination(MoveHistory.fromCell(entry), MoveHistory.direction(entry));
+        moves += MoveHistory.distance(entry);
+        movesPlayed += MoveHistory.distance(entry);
+        finishIfWon();
+        fire(previousCell);
+        return true;
+    }
+
+    /**
+     * Registers a listener to be called after every roll that moves the ball, every undone roll and every
+     * reset. Listeners are not copied by {@link #clone()}.
+     *
+     * @param listener the listener
+     */
+    public void addListener(ModelListener listener) {
+        ModelListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = Objects.requireNonNull(listener);
+        listeners = grown;
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #addListener(ModelListener)}.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(ModelListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ModelListener[] shrunk = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    private void fire(int previousCell) {
+        for (ModelListener listener : listeners) {
+            listener.modelChanged(this, previousCell);
+        }
+    }
+
+    private void roll(int direction) {
+        int steps = graph.steps(ballCell, direction);
+        if (steps == 0) {
+            return;
+        }
+        int previousCell = ballCell;
+        moves += steps;
+        movesPlayed += steps;
+        ballCell = graph.destination(ballCell, direction);
+        if (history != null && !isFinished()) {
+            history.record(previousCell, direction, steps);
+        }
+        finishIfWon();
+        fire(previousCell);
+    }
+
+    /**
+     * Marks the game as finished if the ball has just reached the target, remembering the moves played
+     * at that point so that {@link #undo(int)} can take the finish back.
+     */
+    private void finishIfWon() {
+        if (finishedAt == NOT_FINISHED && ballCell == board.getTargetCell()) {
+            finishedAt = movesPlayed;
+        }
+    }
+
+    private boolean canRoll(int direction) {
+        return graph.steps(ballCell, direction) != 0;
+    }
+
+    /**
+     * Gets the legal moves as a bit mask, with bit {@link Direction#mask()} set for each direction the
+     * ball can move in.
+     *
+     * @return the legal-move mask
+     */
+    public int legalMoveMask() {
+        int mask = 0;
+        for (int direction = UP; direction <= LEFT; direction++) {
+            if (canRoll(direction)) {
+                mask |= 1 << direction;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Rolls the ball in place.
+     *
+     * @param direction the direction code, see {@link Direction#code()}
+     * @return the cell the ball was in, to be passed to {@link #undo(int)}
+     */
+    public int apply(int direction) {
+        int previousCell = ballCell;
+        roll(direction);
+        return previousCell;
+    }
+
+    /**
+     * Rolls the ball in place.
+     *
+     * @param direction the direction
+     * @return the cell the ball was in, to be passed to {@link #undo(int)}
+     */
+    public int apply(Direction direction) {
+        return apply(direction.code());
+    }
+
+    /**
+     * Reverts the last {@link #apply(int)}, putting the ball back and taking back the cells travelled from
+     * {@link #getMoves()} and {@link #getMovesPlayed()}. If that roll finished the game, the game is no
+     * longer finished. This is the undo of searches; it does not change the {@link MoveHistory}, see
+     * {@link #undoMove()}.
+     *
+     * @param previousCell the value returned by {@code apply}
+     */
+    public void undo(int previousCell) {
+        int cols = board.getCols();
+        int currentCell = ballCell;
+        int distance = Math.abs(ballCell / cols - previousCell / cols) + Math.abs(ballCell % cols - previousCell % cols);
+        moves -= distance;
+        movesPlayed -= distance;
+        if (movesPlayed < finishedAt) {
+            finishedAt = NOT_FINISHED;
+        }
+        ballCell = previousCell;
+        if (currentCell != previousCell) {
+            fire(currentCell);
+        }
     }
 
     /**
@@ -63,13 +301,58 @@ public class LabyrinthModel implements State<String>, Cloneable {
         return startTime.format(formatter);
     }
 
+    /**
+     * Gets the roll graph of the board.
+     *
+     * @return the roll graph
+     */
+    public RollGraph getRollGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the board.
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the index of the cell the ball is in.
+     *
+     * @return the cell index of the ball
+     */
+    public int getBallCell() {
+        return ballCell;
+    }
+
+    /**
+     * Gets the index of the cell the ball starts in.
+     *
+     * @return the cell index of the starting position
+     */
+    public int getStartCell() {
+        return board.getStartCell();
+    }
+
+    /**
+     * Gets the index of the target cell.
+     *
+     * @return the cell index of the target
+     */
+    public int getTargetCell() {
+        return board.getTargetCell();
+    }
+
     /**
      * Gets the number of rows.
      *
      * @return the number of rows
      */
     public int getRows() {
-        return ROWS;
+        return board.getRows();
     }
 
     /**
@@ -78,7 +361,7 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return the number of columns
      */
     public int getCols() {
-        return COLS;
+        return board.getCols();
     }
 
     /**
@@ -89,7 +372,7 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return true if there is a horizontal wall, false otherwise
      */
     public boolean hasHorizontalWall(int row, int col) {
-        return horizontalWalls[row][col];
+        return board.hasHorizontalWall(row * board.getCols() + col);
     }
 
     /**
@@ -100,7 +383,7 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return true if there is a vertical wall, false otherwise
      */
     public boolean hasVerticalWall(int row, int col) {
-        return verticalWalls[row][col];
+        return board.hasVerticalWall(row * board.getCols() + col);
     }
 
     /**
@@ -111,7 +394,7 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return true if the ball is at the specified position, false otherwise
      */
     public boolean isBallPosition(int row, int col) {
-        return row == ballRow && col == ballCol;
+        return row * board.getCols() + col == ballCell;
     }
 
     /**
@@ -122,47 +405,35 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return true if the target is at the specified position, false otherwise
      */
     public boolean isTargetPosition(int row, int col) {
-        return row == targetRow && col == targetCol;
+        return row * board.getCols() + col == board.getTargetCell();
     }
 
     /**
      * Moves the ball up.
      */
     public void moveUp() {
-        while (ballRow > 0 && !horizontalWalls[ballRow - 1][ballCol]) {
-            ballRow--;
-            moves++;
-        }
+        roll(UP);
     }
 
     /**
      * Moves the ball down.
      */
     public void moveDown() {
-        while (ballRow < ROWS - 1 && !horizontalWalls[ballRow][ballCol]) {
-            ballRow++;
-            moves++;
-        }
+        roll(DOWN);
     }
 
     /**
      * Moves the ball left.
      */
     public void moveLeft() {
-        while (ballCol > 0 && !verticalWalls[ballRow][ballCol - 1]) {
-            ballCol--;
-            moves++;
-        }
+        roll(LEFT);
     }
 
     /**
      * Moves the ball right.
      */
     public void moveRight() {
-        while (ballCol < COLS - 1 && !verticalWalls[ballRow][ballCol]) {
-            ballCol++;
-            moves++;
-        }
+        roll(RIGHT);
     }
 
     /**
@@ -171,7 +442,16 @@ public class LabyrinthModel implements State<String>, Cloneable {
      * @return true if the game is won, false otherwise
      */
     public boolean isGameWon() {
-        return ballRow == targetRow && ballCol == targetCol;
+        return ballCell == board.getTargetCell();
+    }
+
+    /**
+     * Checks if the ball is in a dead end, from which the target can no longer be reached.
+     *
+     * @return true if no sequence of rolls leads from the ball to the target
+     */
+    public boolean isTrapped() {
+        return board.reachability().isDead(ballCell);
     }
 
     /**
@@ -183,6 +463,17 @@ public class LabyrinthModel implements State<String>, Cloneable {
         return moves;
     }
 
+    /**
+     * Gets the number of moves of all rolls made since the game was started, including the rolls that
+     * were undone with {@link #undoMove()}. Unlike {@link #getMoves()} it never decreases during a game; only
+     * the search undo {@link #undo(int)} takes moves back.
+     *
+     * @return the number of moves played
+     */
+    public int getMovesPlayed() {
+        return movesPlayed;
+    }
+
     /**
      * Gets the start time.
      *
@@ -192,6 +483,16 @@ public class LabyrinthModel implements State<String>, Cloneable {
         return startTime;
     }
 
+    /**
+     * Creates a solver-facing state for the current ball position. Unlike this model, the returned
+     * state is identified by the ball position alone, so a search can recognise revisited cells.
+     *
+     * @return a search state at the current ball position
+     */
+    public LabyrinthState toSearchState() {
+        return new LabyrinthState(board, ballCell);
+    }
+
     @Override
     public boolean isSolved() {
         return isGameWon();
@@ -199,53 +500,29 @@ public class LabyrinthModel implements State<String>, Cloneable {
 
     @Override
     public boolean isLegalMove(String move) {
-        switch (move) {
-            case "UP":
-                return ballRow > 0 && !horizontalWalls[ballRow - 1][ballCol];
-            case "DOWN":
-                return ballRow < ROWS - 1 && !horizontalWalls[ballRow][ballCol];
-            case "LEFT":
-                return ballCol > 0 && !verticalWalls[ballRow][ballCol - 1];
-            case "RIGHT":
-                return ballCol < COLS - 1 && !verticalWalls[ballRow][ballCol];
-            default:
-                return false;
-        }
+        int direction = Direction.codeOf(move);
+        return direction >= 0 && canRoll(direction);
     }
 
     @Override
     public void makeMove(String move) {
-        switch (move) {
-            case "UP":
-                moveUp();
-                break;
-            case "DOWN":
-                moveDown();
-                break;
-            case "LEFT":
-                moveLeft();
-                break;
-            case "RIGHT":
-                moveRight();
-                break;
+        int direction = Direction.codeOf(move);
+        if (direction >= 0) {
+            roll(direction);
         }
     }
 
     @Override
     public Set<String> getLegalMoves() {
-        Set<String> legalMoves = new HashSet<>();
-        if (isLegalMove("UP")) legalMoves.add("UP");
-        if (isLegalMove("DOWN")) legalMoves.add("DOWN");
-        if (isLegalMove("LEFT")) legalMoves.add("LEFT");
-        if (isLegalMove("RIGHT")) legalMoves.add("RIGHT");
-        return legalMoves;
+        return Direction.names(legalMoveMask());
     }
 
     @Override
     public LabyrinthModel clone() {
         try {
             LabyrinthModel copy = (LabyrinthModel) super.clone();
-            copy.startTime = LocalDateTime.from(startTime);
+            copy.listeners = NO_LISTENERS;
+            copy.history = null;
             return copy;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -257,21 +534,15 @@ public class LabyrinthModel implements State<String>, Cloneable {
         if (this == o) return true;
         if (!(o instanceof LabyrinthModel)) return false;
         LabyrinthModel that = (LabyrinthModel) o;
-        return ballRow == that.ballRow &&
-                ballCol == that.ballCol &&
-                targetRow == that.targetRow &&
-                targetCol == that.targetCol &&
+        return ballCell == that.ballCell &&
                 moves == that.moves &&
-                Objects.equals(startTime, that.startTime) &&
-                Arrays.deepEquals(horizontalWalls, that.horizontalWalls) &&
-                Arrays.deepEquals(verticalWalls, that.verticalWalls);
+                board.equals(that.board) &&
+                Objects.equals(startTime, that.startTime);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(ballRow, ballCol, targetRow, targetCol, moves, startTime);
-        result = 31 * result + Arrays.deepHashCode(horizontalWalls);
-        result = 31 * result + Arrays.deepHashCode(verticalWalls);
-        return result;
+        int result = 31 * ballCell + moves;
+        return 31 * result + Objects.hashCode(startTime);
     }
 }
@@ -0,0 +1,89 @@
+package modelBoard;
+
+import puzzle.State;
+
+import java.util.Set;
+
+/**
+ * Solver-facing state of the Labyrinth puzzle. Two states on the same board are equal when the ball is
+ * in the same cell, however many moves it took to get there. The visited set of a search can therefore
+ * prune revisits.
+ */
+public class LabyrinthState implements State<String>, Cloneable {
+    private final Board board;
+    private final RollGraph graph;
+    private int ballCell;
+
+    /**
+     * Constructs a state with the ball in the specified cell.
+     *
+     * @param board the board
+     * @param ballCell the cell index of the ball
+     */
+    LabyrinthState(Board board, int ballCell) {
+        this.board = board;
+        this.graph = board.rollGraph();
+        this.ballCell = ballCell;
+    }
+
+    /**
+     * Gets the cell index of the ball.
+     *
+     * @return the cell index of the ball
+     */
+    public int getBallCell() {
+        return ballCell;
+    }
+
+    @Override
+    public boolean isSolved() {
+        return ballCell == board.getTargetCell();
+    }
+
+    @Override
+    public boolean isLegalMove(String move) {
+        int direction = Direction.codeOf(move);
+        return direction >= 0 && graph.steps(ballCell, direction) != 0;
+    }
+
+    @Override
+    public void makeMove(String move) {
+        int direction = Direction.codeOf(move);
+        if (direction >= 0) {
+            ballCell = graph.destination(ballCell, direction);
+        }
+    }
+
+    @Override
+    public Set<String> getLegalMoves() {
+        int mask = 0;
+        for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+            if (graph.steps(ballCell, direction) != 0) {
+                mask |= 1 << direction;
+            }
+        }
+        return Direction.names(mask);
+    }
+
+    @Override
+    public LabyrinthState clone() {
+        try {
+            return (LabyrinthState) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LabyrinthState)) return false;
+        LabyrinthState that = (LabyrinthState) o;
+        return ballCell == that.ballCell && board.equals(that.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return ballCell;
+    }
+}
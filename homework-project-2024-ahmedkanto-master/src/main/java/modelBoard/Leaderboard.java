@@ -0,0 +1,112 @@
+package modelBoard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Bounded, always sorted collection of game results. Results are kept in a red-black tree ordered by
+ * {@link GameResult#compareTo(GameResult)}, so adding a result costs O(log N) and reading the top
+ * {@code n} results walks only the first {@code n} nodes. When the capacity is exceeded the worst
+ * result is dropped. All methods are thread-safe.
+ */
+public class Leaderboard {
+    /**
+     * The capacity of a leaderboard created with the default constructor.
+     */
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    /**
+     * Orders results like {@link GameResult#compareTo(GameResult)}, breaking ties by player name so
+     * that different players with equal scores are both kept.
+     */
+    private static final Comparator<GameResult> ORDER = Comparator.<GameResult>naturalOrder()
+            .thenComparing(GameResult::getPlayerName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final int capacity;
+    private final TreeSet<GameResult> results = new TreeSet<>(ORDER);
+
+    /**
+     * Creates an empty leaderboard with the {@link #DEFAULT_CAPACITY}.
+     */
+    public Leaderboard() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param capacity the largest number of results kept
+     */
+    public Leaderboard(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a result.
+     *
+     * @param result the result to add
+     * @return true if the result is kept, false if it is a duplicate or ranks below a full leaderboard
+     */
+    public synchronized boolean add(GameResult result) {
+        if (results.size() == capacity && ORDER.compare(result, results.last()) >= 0) {
+            return false;
+        }
+        if (!results.add(result)) {
+            return false;
+        }
+        if (results.size() > capacity) {
+            results.pollLast();
+        }
+        return true;
+    }
+
+    /**
+     * Adds several results.
+     *
+     * @param results the results to add
+     */
+    public synchronized void addAll(Iterable<GameResult> results) {
+        for (GameResult result : results) {
+            add(result);
+        }
+    }
+
+    /**
+     * Gets the best results, best first.
+     *
+     * @param n the largest number of results to return
+     * @return the best {@code n} results
+     */
+    public synchronized List<GameResult> top(int n) {
+        List<GameResult> top = new ArrayList<>(Math.min(n, results.size()));
+        Iterator<GameResult> iterator = results.iterator();
+        while (top.size() < n && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Gets the number of results kept.
+     *
+     * @return the number of results
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Gets the largest number of results kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,16 @@
+package modelBoard;
+
+/**
+ * Listens to the changes of a {@link LabyrinthModel}. Listeners are called on the thread that changed the
+ * model, after every roll that moved the ball, every undone roll and every reset.
+ */
+@FunctionalInterface
+public interface ModelListener {
+    /**
+     * Called after the ball moved or the game was reset.
+     *
+     * @param model the model that changed
+     * @param previousCell the cell the ball was in before the change
+     */
+    void modelChanged(LabyrinthModel model, int previousCell);
+}
@@ -0,0 +1,212 @@
+package modelBoard;
+
+/**
+ * The rolls of a game, for undo, redo and replays. Each roll is packed into one {@code long}: the cell
+ * the ball rolled from, the direction and the number of cells travelled. The entries are kept in a ring
+ * buffer of fixed capacity that is allocated once, so recording a roll never allocates; when the buffer
+ * is full, the oldest roll is overwritten and can no longer be undone.
+ *
+ * <p>Undoing moves a cursor back over the entries and redoing moves it forward again, both in constant
+ * time. Recording a roll after undoing drops the undone rolls.
+ */
+public final class MoveHistory {
+    /**
+     * The capacity of a history created with {@link #MoveHistory()}.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int DIRECTION_SHIFT = 32;
+    private static final int DISTANCE_SHIFT = 34;
+
+    private final long[] entries;
+    private int first;
+    private int undoable;
+    private int redoable;
+
+    /**
+     * Creates an empty history of {@link #DEFAULT_CAPACITY} rolls.
+     */
+    public MoveHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty history.
+     *
+     * @param capacity the largest number of rolls kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public MoveHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        entries = new long[capacity];
+    }
+
+    /**
+     * Packs a roll into a history entry.
+     *
+     * @param fromCell the cell the ball rolled from
+     * @param direction the direction code
+     * @param distance the number of cells travelled
+     * @return the entry
+     */
+    public static long pack(int fromCell, int direction, int distance) {
+        return (long) distance << DISTANCE_SHIFT | (long) direction << DIRECTION_SHIFT | (fromCell & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the cell the ball rolled from.
+     *
+     * @param entry the entry
+     * @return the cell index
+     */
+    public static int fromCell(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Gets the direction of a roll.
+     *
+     * @param entry the entry
+     * @return the direction code
+     */
+    public static int direction(long entry) {
+        return (int) (entry >>> DIRECTION_SHIFT) & 3;
+    }
+
+    /**
+     * Gets the number of cells travelled by a roll.
+     *
+     * @param entry the entry
+     * @return the number of cells
+     */
+    public static int distance(long entry) {
+        return (int) (entry >>> DISTANCE_SHIFT);
+    }
+
+    /**
+     * Records a roll, dropping the rolls that were undone.
+     *
+     * @param fromCell the cell the ball rolled from
+     * @param direction the direction code
+     * @param distance the number of cells travelled
+     */
+    public void record(int fromCell, int direction, int distance) {
+        redoable = 0;
+        if (undoable == entries.length) {
+            first = next(first);
+            undoable--;
+        }
+        entries[index(undoable++)] = pack(fromCell, direction, distance);
+    }
+
+    /**
+     * Checks if there is a roll to undo.
+     *
+     * @return true if {@link #undo()} can be called
+     */
+    public boolean canUndo() {
+        return undoable > 0;
+    }
+
+    /**
+     * Checks if there is an undone roll to redo.
+     *
+     * @return true if {@link #redo()} can be called
+     */
+    public boolean canRedo() {
+        return redoable > 0;
+    }
+
+    /**
+     * Moves the cursor back over the last roll.
+     *
+     * @return the entry of the roll to take back
+     * @throws IllegalStateException if there is no roll to undo
+     */
+    public long undo() {
+        if (undoable == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        redoable++;
+        return entries[index(--undoable)];
+    }
+
+    /**
+     * Moves the cursor forward over the last undone roll.
+     *
+     * @return the entry of the roll to make again
+     * @throws IllegalStateException if there is no roll to redo
+     */
+    public long redo() {
+        if (redoable == 0) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        redoable--;
+        return entries[index(undoable++)];
+    }
+
+    /**
+     * Forgets all rolls.
+     */
+    public void clear() {
+        first = 0;
+        undoable = 0;
+        redoable = 0;
+    }
+
+    /**
+     * Gets the number of rolls that can be undone.
+     *
+     * @return the number of rolls before the cursor
+     */
+    public int size() {
+        return undoable;
+    }
+
+    /**
+     * Gets the largest number of rolls kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Gets the rolls before the cursor as a replay, oldest first. Applying the directions of the entries
+     * to a ball in the cell of the first entry repeats the game.
+     *
+     * @return a new array of the entries
+     */
+    public long[] toArray() {
+        long[] replay = new long[undoable];
+        for (int i = 0; i < undoable; i++) {
+            replay[i] = entries[index(i)];
+        }
+        return replay;
+    }
+
+    /**
+     * Gets the directions of the rolls before the cursor, oldest first.
+     *
+     * @return a new array of direction codes
+     */
+    public int[] rolls() {
+        int[] rolls = new int[undoable];
+        for (int i = 0; i < undoable; i++) {
+            rolls[i] = direction(entries[index(i)]);
+        }
+        return rolls;
+    }
+
+    private int index(int position) {
+        int index = first + position;
+        return index < entries.length ? index : index - entries.length;
+    }
+
+    private int next(int index) {
+        return index + 1 < entries.length ? index + 1 : 0;
+    }
+}
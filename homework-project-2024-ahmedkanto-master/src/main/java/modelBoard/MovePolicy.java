@@ -0,0 +1,81 @@
+package modelBoard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Chooses the rolls of a simulated player in a {@link GameSession}.
+ */
+@FunctionalInterface
+public interface MovePolicy {
+    /**
+     * The roll a policy returns to end the game without reaching the target.
+     */
+    int GIVE_UP = -1;
+
+    /**
+     * Chooses the next roll.
+     *
+     * @param model the game, with the ball in its current cell
+     * @param roll the number of rolls made so far in this game
+     * @param random the random generator of the session
+     * @return the direction code of the roll, or {@link #GIVE_UP}
+     */
+    int nextRoll(LabyrinthModel model, int roll, SplittableRandom random);
+
+    /**
+     * Gets a policy that rolls in a uniformly chosen direction the ball can move in.
+     *
+     * @return the random policy
+     */
+    static MovePolicy random() {
+        return (model, roll, random) -> {
+            int mask = model.legalMoveMask();
+            if (mask == 0) {
+                return GIVE_UP;
+            }
+            for (int skip = random.nextInt(Integer.bitCount(mask)); skip > 0; skip--) {
+                mask &= mask - 1;
+            }
+            return Integer.numberOfTrailingZeros(mask);
+        };
+    }
+
+    /**
+     * Gets a policy that plays a fixed sequence of rolls and gives up when it runs out.
+     *
+     * @param rolls the direction codes of the rolls
+     * @return the scripted policy
+     */
+    static MovePolicy scripted(int... rolls) {
+        int[] script = rolls.clone();
+        return (model, roll, random) -> roll < script.length ? script[roll] : GIVE_UP;
+    }
+
+    /**
+     * Gets a policy that follows a solution with the fewest rolls from wherever the ball is. It uses the
+     * all-pairs tables of {@link RollGraph} on boards of at most {@link RollGraph#MAX_ALL_PAIRS_CELLS}
+     * cells, and on larger boards a {@link DistanceField} to the target, built on first use and kept for
+     * the last board played.
+     *
+     * @return the optimal policy
+     */
+    static MovePolicy optimal() {
+        AtomicReference<DistanceField> fields = new AtomicReference<>();
+        return (model, roll, random) -> {
+            RollGraph graph = model.getRollGraph();
+            int next;
+            if (graph.getCells() <= RollGraph.MAX_ALL_PAIRS_CELLS) {
+                next = graph.nextRollByRolls(model.getBallCell(), model.getTargetCell());
+            } else {
+                DistanceField field = fields.get();
+                if (field == null || field.getBoard() != model.getBoard()) {
+                    field = new DistanceField(model.getBoard());
+                    fields.set(field);
+                }
+                next = field.nextRoll(model.getBallCell());
+            }
+            return next < 0 ? GIVE_UP : next;
+        };
+    }
+}
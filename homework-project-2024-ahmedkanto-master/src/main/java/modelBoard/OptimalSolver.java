@@ -0,0 +1,108 @@
+package modelBoard;
+
+import java.util.Arrays;
+
+/**
+ * A* solver over a {@link RollGraph} that finds optimal solutions under either cost metric. Costs and
+ * open-list entries are kept in primitive arrays and an {@link IntMinHeap}.
+ */
+public class OptimalSolver {
+
+    /**
+     * The cost a solution is optimised for.
+     */
+    public enum Metric {
+        /**
+         * The number of rolls.
+         */
+        ROLLS,
+        /**
+         * The number of cells travelled, as counted by {@link LabyrinthModel#getMoves()}.
+         */
+        MOVES
+    }
+
+    private final RollGraph graph;
+
+    /**
+     * Creates a solver for the specified roll graph.
+     *
+     * @param graph the roll graph of the board
+     */
+    public OptimalSolver(RollGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Finds an optimal solution from the current position of a model.
+     *
+     * @param model the model
+     * @param metric the metric to minimise
+     * @return the solution
+     */
+    public static Solution solve(LabyrinthModel model, Metric metric) {
+        return new OptimalSolver(model.getRollGraph()).solve(model.getBallCell(), model.getTargetCell(), metric);
+    }
+
+    /**
+     * Finds an optimal solution between two cells.
+     *
+     * @param start the starting cell index
+     * @param target the target cell index
+     * @param metric the metric to minimise
+     * @return the solution, unsolvable if the target cannot be reached
+     */
+    public Solution solve(int start, int target, Metric metric) {
+        int cells = graph.getCells();
+        int[] cost = new int[cells];
+        int[] parent = new int[cells];
+        byte[] parentRoll = new byte[cells];
+        boolean[] closed = new boolean[cells];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(64);
+        cost[start] = 0;
+        parent[start] = -1;
+        open.push(heuristic(start, target, metric), start);
+        long expanded = 0;
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            if (closed[cell]) {
+                continue;
+            }
+            if (cell == target) {
+                return Solution.of(graph, start, target, parent, parentRoll, expanded);
+            }
+            closed[cell] = true;
+            expanded++;
+            for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                int steps = graph.steps(cell, direction);
+                if (steps == 0) {
+                    continue;
+                }
+                int next = graph.destination(cell, direction);
+                int nextCost = cost[cell] + (metric == Metric.ROLLS ? 1 : steps);
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = cell;
+                    parentRoll[next] = (byte) direction;
+                    open.push(nextCost + heuristic(next, target, metric), next);
+                }
+            }
+        }
+        return Solution.unsolvable(expanded);
+    }
+
+    /**
+     * Estimates the remaining cost without overestimating it. A roll changes either the row or the
+     * column, and travels at least one cell for each unit of Manhattan distance it removes.
+     */
+    private int heuristic(int cell, int target, Metric metric) {
+        int cols = graph.getCols();
+        int rowDistance = Math.abs(cell / cols - target / cols);
+        int colDistance = Math.abs(cell % cols - target % cols);
+        if (metric == Metric.MOVES) {
+            return rowDistance + colDistance;
+        }
+        return (rowDistance == 0 ? 0 : 1) + (colDistance == 0 ? 0 : 1);
+    }
+}
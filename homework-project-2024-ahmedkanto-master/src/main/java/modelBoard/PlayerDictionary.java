@@ -0,0 +1,152 @@
+package modelBoard;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small integer ids to player names, so that stored results refer to a player by id. The names
+ * are kept in a text file, one name per line, where the id of a name is its line number counted from
+ * zero. New names are appended to the file when they are first seen.
+ *
+ * <p>A dictionary that is not stored in a file interns the player names of all {@link GameResult}s of a
+ * process, so its ids depend on the order the names are first seen. A stored dictionary gives the ids
+ * of a {@link HighScoreLog}, which must stay the same across runs; the log and
+ * {@link PlayerStatistics#recordAll(HighScoreStore)} translate between the two once per player.
+ */
+public class PlayerDictionary {
+    /**
+     * The id of a missing player name.
+     */
+    public static final int NO_PLAYER = -1;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Path path;
+
+    /**
+     * Creates an empty dictionary that is not stored in a file.
+     */
+    public PlayerDictionary() {
+        this.path = null;
+    }
+
+    private PlayerDictionary(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens a dictionary stored in a file, creating the file if it does not exist. A last line that was
+     * not completely written is dropped.
+     *
+     * @param path the path of the file
+     * @return the dictionary
+     * @throws IOException if the file cannot be read or repaired
+     */
+    public static PlayerDictionary open(Path path) throws IOException {
+        PlayerDictionary dictionary = new PlayerDictionary(path);
+        if (!Files.exists(path)) {
+            Files.createFile(path);
+            return dictionary;
+        }
+        String text = Files.readString(path, StandardCharsets.UTF_8);
+        int complete = text.lastIndexOf('\n') + 1;
+        if (complete < text.length()) {
+            Files.writeString(path, text.substring(0, complete), StandardCharsets.UTF_8,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        int from = 0;
+        while (from < complete) {
+            int to = text.indexOf('\n', from);
+            dictionary.register(text.substring(from, to));
+            from = to + 1;
+        }
+        return dictionary;
+    }
+
+    private int register(String name) {
+        int id = names.size();
+        names.add(name);
+        ids.putIfAbsent(name, id);
+        return id;
+    }
+
+    /**
+     * Gets the id of a player name, adding the name if it is new. Line breaks in the name are replaced by
+     * spaces.
+     *
+     * @param name the player name, may be {@code null}
+     * @return the id of the name, {@link #NO_PLAYER} if the name is {@code null}
+     * @throws IOException if a new name cannot be written to the file
+     */
+    public synchronized int idOf(String name) throws IOException {
+        if (name == null) {
+            return NO_PLAYER;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String stored = name.replaceAll("\\R", " ");
+        id = ids.get(stored);
+        if (id != null) {
+            return id;
+        }
+        if (path != null) {
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+                writer.write(stored);
+                writer.write('\n');
+            }
+        }
+        return register(stored);
+    }
+
+    /**
+     * Gets the id of a player name, adding the name in memory only if it is new. Used for dictionaries
+     * that are not stored in a file.
+     *
+     * @param name the player name
+     * @return the id of the name
+     */
+    synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * Gets the id of a player name without adding it.
+     *
+     * @param name the player name
+     * @return the id of the name, {@link #NO_PLAYER} if the name is not in the dictionary
+     */
+    public synchronized int find(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? NO_PLAYER : id;
+    }
+
+    /**
+     * Gets the player name with the specified id.
+     *
+     * @param id the id of the name
+     * @return the name, {@code null} if there is no name with the id
+     */
+    public synchronized String nameOf(int id) {
+        return id >= 0 && id < names.size() ? names.get(id) : null;
+    }
+
+    /**
+     * Gets the number of names in the dictionary.
+     *
+     * @return the number of names
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,120 @@
+package modelBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-player aggregates of all recorded games. The statistics are kept in a list indexed by the player
+ * id of {@link GameResult#getPlayerId()} and updated as each game is recorded, so recording a game and
+ * looking up a player take constant time however many games have been played. Games read from a
+ * {@link HighScoreStore}, whose player ids are those of its {@link PlayerDictionary} file, are recorded
+ * with {@link #recordAll(HighScoreStore)}, which translates the ids once per player. All methods are
+ * thread-safe, and statistics gathered separately are merged with {@link #recordAll(PlayerStatistics)}.
+ */
+public class PlayerStatistics {
+    private static final int UNKNOWN = -2;
+
+    private final List<PlayerStats> stats = new ArrayList<>();
+
+    /**
+     * Records a game.
+     *
+     * @param result the result of the game
+     */
+    public void record(GameResult result) {
+        record(result.getPlayerId(), result.getDurationNanos(), result.getMoves(), result.isSolved());
+    }
+
+    /**
+     * Records a game without creating a {@link GameResult}.
+     *
+     * @param playerName the name of the player
+     * @param durationNanos the duration of the game in nanoseconds
+     * @param moves the number of moves made
+     * @param solved whether the game was solved
+     */
+    public void record(String playerName, long durationNanos, int moves, boolean solved) {
+        record(GameResult.playerIdOf(playerName), durationNanos, moves, solved);
+    }
+
+    /**
+     * Records all games of a high score store.
+     *
+     * @param store the store
+     */
+    public synchronized void recordAll(HighScoreStore store) {
+        int[] playerIds = new int[0];
+        for (int record = 0; record < store.size(); record++) {
+            int storedId = store.getPlayerId(record);
+            if (storedId >= playerIds.length) {
+                int length = playerIds.length;
+                playerIds = Arrays.copyOf(playerIds, Math.max(storedId + 1, 2 * length));
+                Arrays.fill(playerIds, length, playerIds.length, UNKNOWN);
+            }
+            if (storedId >= 0 && playerIds[storedId] == UNKNOWN) {
+                playerIds[storedId] = GameResult.playerIdOf(store.getPlayerName(record));
+            }
+            record(storedId >= 0 ? playerIds[storedId] : PlayerDictionary.NO_PLAYER,
+                    TimeUnit.SECONDS.toNanos(store.getDurationSeconds(record)), store.getMoves(record),
+                    store.isSolved(record));
+        }
+    }
+
+    /**
+     * Records all games of other statistics, so threads can record their games in statistics of their
+     * own and merge them from time to time instead of contending for one lock on every game.
+     *
+     * @param other the statistics whose games are added
+     */
+    public void recordAll(PlayerStatistics other) {
+        List<PlayerStats> games = other.snapshot();
+        synchronized (this) {
+            for (int playerId = 0; playerId < games.size(); playerId++) {
+                if (games.get(playerId) != null) {
+                    playerStats(playerId).add(games.get(playerId));
+                }
+            }
+        }
+    }
+
+    private synchronized List<PlayerStats> snapshot() {
+        List<PlayerStats> copy = new ArrayList<>(stats.size());
+        for (PlayerStats player : stats) {
+            copy.add(player == null ? null : player.copy());
+        }
+        return copy;
+    }
+
+    private synchronized void record(int playerId, long durationNanos, int moves, boolean solved) {
+        if (playerId == PlayerDictionary.NO_PLAYER) {
+            return;
+        }
+        playerStats(playerId).record(durationNanos, moves, solved);
+    }
+
+    private PlayerStats playerStats(int playerId) {
+        while (stats.size() <= playerId) {
+            stats.add(null);
+        }
+        PlayerStats player = stats.get(playerId);
+        if (player == null) {
+            player = new PlayerStats(GameResult.PLAYERS.nameOf(playerId));
+            stats.set(playerId, player);
+        }
+        return player;
+    }
+
+    /**
+     * Gets the statistics of a player.
+     *
+     * @param playerName the name of the player
+     * @return a copy of the statistics of the player, empty if the player has no recorded games
+     */
+    public synchronized PlayerStats of(String playerName) {
+        int playerId = GameResult.PLAYERS.find(playerName);
+        PlayerStats player = playerId >= 0 && playerId < stats.size() ? stats.get(playerId) : null;
+        return player == null ? new PlayerStats(playerName) : player.copy();
+    }
+}
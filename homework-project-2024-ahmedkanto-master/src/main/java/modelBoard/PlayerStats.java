@@ -0,0 +1,129 @@
+package modelBoard;
+
+import java.time.Duration;
+
+/**
+ * Aggregated results of one player: the number of games played and solved, and the best time and the
+ * fewest moves of the solved games.
+ */
+public class PlayerStats {
+    private final String playerName;
+    private int gamesPlayed;
+    private int gamesSolved;
+    private long bestDurationNanos = Long.MAX_VALUE;
+    private int bestMoves = Integer.MAX_VALUE;
+
+    /**
+     * Creates the statistics of a player with no games.
+     *
+     * @param playerName the name of the player
+     */
+    public PlayerStats(String playerName) {
+        this.playerName = playerName;
+    }
+
+    private PlayerStats(PlayerStats other) {
+        this.playerName = other.playerName;
+        this.gamesPlayed = other.gamesPlayed;
+        this.gamesSolved = other.gamesSolved;
+        this.bestDurationNanos = other.bestDurationNanos;
+        this.bestMoves = other.bestMoves;
+    }
+
+    /**
+     * Adds a game to the statistics.
+     *
+     * @param durationNanos the duration of the game in nanoseconds
+     * @param moves the number of moves made
+     * @param solved whether the game was solved
+     */
+    void record(long durationNanos, int moves, boolean solved) {
+        gamesPlayed++;
+        if (solved) {
+            gamesSolved++;
+            bestDurationNanos = Math.min(bestDurationNanos, durationNanos);
+            bestMoves = Math.min(bestMoves, moves);
+        }
+    }
+
+    /**
+     * Adds the games of other statistics of the same player.
+     *
+     * @param other the statistics to add
+     */
+    void add(PlayerStats other) {
+        gamesPlayed += other.gamesPlayed;
+        gamesSolved += other.gamesSolved;
+        bestDurationNanos = Math.min(bestDurationNanos, other.bestDurationNanos);
+        bestMoves = Math.min(bestMoves, other.bestMoves);
+    }
+
+    /**
+     * Gets a copy of the statistics.
+     *
+     * @return the copy
+     */
+    PlayerStats copy() {
+        return new PlayerStats(this);
+    }
+
+    /**
+     * Gets the player name.
+     *
+     * @return the player name
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the number of games played
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games solved.
+     *
+     * @return the number of games solved
+     */
+    public int getGamesSolved() {
+        return gamesSolved;
+    }
+
+    /**
+     * Gets the share of the games played that were solved.
+     *
+     * @return the solve rate between 0 and 1, 0 if no game was played
+     */
+    public double getSolveRate() {
+        return gamesPlayed == 0 ? 0 : (double) gamesSolved / gamesPlayed;
+    }
+
+    /**
+     * Gets the shortest duration of a solved game.
+     *
+     * @return the best duration, {@code null} if no game was solved
+     */
+    public Duration getBestDuration() {
+        return gamesSolved == 0 ? null : Duration.ofNanos(bestDurationNanos);
+    }
+
+    /**
+     * Gets the fewest moves of a solved game.
+     *
+     * @return the fewest moves, -1 if no game was solved
+     */
+    public int getBestMoves() {
+        return gamesSolved == 0 ? -1 : bestMoves;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerStats{" + playerName + ", played=" + gamesPlayed + ", solved=" + gamesSolved
+                + ", bestDuration=" + getBestDuration() + ", bestMoves=" + getBestMoves() + "}";
+    }
+}
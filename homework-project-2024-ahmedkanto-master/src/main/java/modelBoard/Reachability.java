@@ -0,0 +1,176 @@
+package modelBoard;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The cells of a board from which the target can still be reached. A breadth-first search follows the
+ * {@link ReverseRollIndex} backward from the target, so every cell it visits has a sequence of rolls to
+ * the target and every other cell is a dead end. The search takes time linear in the number of rolls of
+ * the board. The live cells are kept one bit per cell, and also in the order the search visited them,
+ * which groups them by the fewest rolls they need to reach the target.
+ */
+public final class Reachability {
+    private final int cells;
+    private final int target;
+    private final long[] live;
+    private final int liveCount;
+    private final int[] order;
+    private final int[] levelStarts;
+
+    /**
+     * Finds the cells from which the target can be reached.
+     *
+     * @param graph the roll graph of the board
+     * @param target the target cell index
+     */
+    public Reachability(RollGraph graph, int target) {
+        ReverseRollIndex reverse = graph.reverseIndex();
+        this.cells = graph.getCells();
+        this.target = target;
+        live = new long[Board.words(cells)];
+        int[] queue = new int[cells];
+        live[target >>> 6] |= 1L << target;
+        queue[0] = target;
+        int[] levels = new int[16];
+        int levelCount = 0;
+        int levelEnd = 0;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            if (head == levelEnd) {
+                if (levelCount + 1 == levels.length) {
+                    levels = Arrays.copyOf(levels, levels.length * 2);
+                }
+                levels[levelCount++] = head;
+                levelEnd = tail;
+            }
+            int cell = queue[head++];
+            for (int entry = reverse.from(cell), end = reverse.to(cell); entry < end; entry++) {
+                int source = reverse.source(entry);
+                if ((live[source >>> 6] & 1L << source) == 0) {
+                    live[source >>> 6] |= 1L << source;
+                    queue[tail++] = source;
+                }
+            }
+        }
+        liveCount = tail;
+        levels[levelCount] = tail;
+        order = queue;
+        levelStarts = Arrays.copyOf(levels, levelCount + 1);
+    }
+
+    /**
+     * Gets the target cell the analysis was made for.
+     *
+     * @return the target cell index
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Checks if the target can be reached from a cell.
+     *
+     * @param cell the cell index
+     * @return true if some sequence of rolls leads from the cell to the target
+     */
+    public boolean canReachTarget(int cell) {
+        return (live[cell >>> 6] & 1L << cell) != 0;
+    }
+
+    /**
+     * Checks if a cell is a dead end, from which the target can no longer be reached.
+     *
+     * @param cell the cell index
+     * @return true if no sequence of rolls leads from the cell to the target
+     */
+    public boolean isDead(int cell) {
+        return !canReachTarget(cell);
+    }
+
+    /**
+     * Gets the number of cells from which the target can be reached, the target included.
+     *
+     * @return the number of live cells
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of dead ends.
+     *
+     * @return the number of cells from which the target cannot be reached
+     */
+    public int getDeadCount() {
+        return cells - liveCount;
+    }
+
+    /**
+     * Gets the dead ends.
+     *
+     * @return a new bit set with the indexes of the cells from which the target cannot be reached
+     */
+    public BitSet deadCells() {
+        BitSet dead = BitSet.valueOf(live);
+        dead.flip(0, cells);
+        return dead;
+    }
+
+    /**
+     * Gets the largest number of rolls any live cell needs to reach the target.
+     *
+     * @return the fewest rolls from the live cell farthest from the target
+     */
+    public int getMaxRolls() {
+        return levelStarts.length - 2;
+    }
+
+    /**
+     * Gets the number of cells whose fewest rolls to the target lie in a range.
+     *
+     * @param minRolls the smallest number of rolls
+     * @param maxRolls the largest number of rolls
+     * @return the number of cells needing from {@code minRolls} to {@code maxRolls} rolls
+     */
+    public int countWithin(int minRolls, int maxRolls) {
+        return Math.max(0, levelStart(maxRolls + 1) - levelStart(minRolls));
+    }
+
+    /**
+     * Gets a cell whose fewest rolls to the target lie in a range.
+     *
+     * @param minRolls the smallest number of rolls
+     * @param maxRolls the largest number of rolls
+     * @param rank the rank of the cell, from {@code 0} to {@link #countWithin(int, int)}{@code - 1}
+     * @return the cell index
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public int cellWithin(int minRolls, int maxRolls, int rank) {
+        if (rank < 0 || rank >= countWithin(minRolls, maxRolls)) {
+            throw new IndexOutOfBoundsException("Cell " + rank + " of " + countWithin(minRolls, maxRolls));
+        }
+        return order[levelStart(minRolls) + rank];
+    }
+
+    /**
+     * Gets the fewest rolls from every cell to the target, read off the visit order of the search.
+     *
+     * @return the number of rolls for each cell index, {@code -1} for dead ends
+     */
+    int[] distances() {
+        int[] rolls = new int[cells];
+        Arrays.fill(rolls, -1);
+        for (int level = 0; level < levelStarts.length - 1; level++) {
+            for (int i = levelStarts[level]; i < levelStarts[level + 1]; i++) {
+                rolls[order[i]] = level;
+            }
+        }
+        return rolls;
+    }
+
+    private int levelStart(int rolls) {
+        return levelStarts[Math.max(0, Math.min(rolls, levelStarts.length - 1))];
+    }
+}
@@ -0,0 +1,87 @@
+package modelBoard;
+
+/**
+ * The rolls of a {@link RollGraph} grouped by the cell they stop at, so that the cells a ball can have
+ * rolled from are listed without scanning the board. The index is stored in compressed form: the
+ * entries for a cell are {@code from(cell) <= i < to(cell)}, each holding the starting cell and the
+ * direction of one roll. Rolls that cannot move the ball are left out.
+ */
+public final class ReverseRollIndex {
+    private final int[] offsets;
+    private final int[] sources;
+    private final byte[] rolls;
+
+    /**
+     * Builds the index of a roll graph in two passes over its rolls.
+     *
+     * @param graph the roll graph
+     */
+    ReverseRollIndex(RollGraph graph) {
+        int cells = graph.getCells();
+        offsets = new int[cells + 1];
+        for (int cell = 0; cell < cells; cell++) {
+            for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                int destination = graph.destination(cell, direction);
+                if (destination != cell) {
+                    offsets[destination + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            offsets[cell + 1] += offsets[cell];
+        }
+        sources = new int[offsets[cells]];
+        rolls = new byte[offsets[cells]];
+        int[] next = offsets.clone();
+        for (int cell = 0; cell < cells; cell++) {
+            for (int direction = RollGraph.UP; direction <= RollGraph.LEFT; direction++) {
+                int destination = graph.destination(cell, direction);
+                if (destination != cell) {
+                    int entry = next[destination]++;
+                    sources[entry] = cell;
+                    rolls[entry] = (byte) direction;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the first entry of a cell.
+     *
+     * @param cell the cell index
+     * @return the index of the first entry for rolls stopping at {@code cell}
+     */
+    public int from(int cell) {
+        return offsets[cell];
+    }
+
+    /**
+     * Gets the end of the entries of a cell.
+     *
+     * @param cell the cell index
+     * @return one past the index of the last entry for rolls stopping at {@code cell}
+     */
+    public int to(int cell) {
+        return offsets[cell + 1];
+    }
+
+    /**
+     * Gets the cell a roll starts from.
+     *
+     * @param entry the entry index
+     * @return the starting cell index
+     */
+    public int source(int entry) {
+        return sources[entry];
+    }
+
+    /**
+     * Gets the direction of a roll.
+     *
+     * @param entry the entry index
+     * @return the direction code
+     */
+    public int roll(int entry) {
+        return rolls[entry];
+    }
+}
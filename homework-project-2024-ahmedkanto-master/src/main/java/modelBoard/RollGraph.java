@@ -0,0 +1,312 @@
+package modelBoard;
+
+import java.util.Arrays;
+
+/**
+ * The graph of rolls on a fixed board. The destination of every roll is computed once when the graph
+ * is built, and its length follows from the destination. The shortest paths between all pairs of cells
+ * are computed on first use, so that solving from any position is a table lookup. They are found with a
+ * breadth-first search and a heap-based Dijkstra search from every cell, in time O(V² log V) for V cells.
+ */
+public class RollGraph {
+    /**
+     * Direction code of rolling up, the {@link Direction#code()} of {@link Direction#UP}.
+     */
+    public static final int UP = 0;
+
+    /**
+     * Direction code of rolling right.
+     */
+    public static final int RIGHT = 1;
+
+    /**
+     * Direction code of rolling down.
+     */
+    public static final int DOWN = 2;
+
+    /**
+     * Direction code of rolling left.
+     */
+    public static final int LEFT = 3;
+
+    /**
+     * Largest board, in cells, for which the all-pairs tables may be computed.
+     */
+    public static final int MAX_ALL_PAIRS_CELLS = 1024;
+
+    private static final int UNREACHABLE = -1;
+
+    private final int rows;
+    private final int cols;
+    private final int[] destination;
+
+    private volatile ReverseRollIndex reverseIndex;
+    private volatile int[] minRolls;
+    private int[] minMoves;
+    private byte[] firstRollByRolls;
+    private byte[] firstRollByMoves;
+
+    /**
+     * Builds the roll graph of a board. Each direction is filled in one sweep against it, so that a cell
+     * that can step on reuses the destination of its neighbour, and building takes linear time.
+     *
+     * @param board the board
+     */
+    RollGraph(Board board) {
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        destination = new int[board.getCells() * 4];
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * cols;
+            for (int col = 0; col < cols; col++) {
+                int cell = rowStart + col;
+                destination[cell * 4 + LEFT] = col > 0 && !board.hasVerticalWall(cell - 1)
+                        ? destination[(cell - 1) * 4 + LEFT] : cell;
+                if (row > 0 && !board.hasHorizontalWall(cell - cols)) {
+                    destination[cell * 4 + UP] = destination[(cell - cols) * 4 + UP];
+                } else {
+                    destination[cell * 4 + UP] = cell;
+                }
+            }
+            for (int col = cols - 1; col >= 0; col--) {
+                int cell = rowStart + col;
+                destination[cell * 4 + RIGHT] = col < cols - 1 && !board.hasVerticalWall(cell)
+                        ? destination[(cell + 1) * 4 + RIGHT] : cell;
+            }
+        }
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                destination[cell * 4 + DOWN] = row < rows - 1 && !board.hasHorizontalWall(cell)
+                        ? destination[(cell + cols) * 4 + DOWN] : cell;
+            }
+        }
+    }
+
+    /**
+     * Gets the name of a direction as used by the {@link puzzle.State} moves.
+     *
+     * @param direction the direction code
+     * @return the name of the direction
+     */
+    public static String directionName(int direction) {
+        return Direction.of(direction).name();
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return the number of cells
+     */
+    public int getCells() {
+        return rows * cols;
+    }
+
+    /**
+     * Gets the index of a cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the cell index
+     */
+    public int cell(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Gets the cell a roll stops at.
+     *
+     * @param cell the starting cell index
+     * @param direction the direction code
+     * @return the destination cell index, equal to {@code cell} if the ball cannot move
+     */
+    public int destination(int cell, int direction) {
+        return destination[cell * 4 + direction];
+    }
+
+    /**
+     * Gets the number of cells travelled by a roll.
+     *
+     * @param cell the starting cell index
+     * @param direction the direction code
+     * @return the number of cells travelled, zero if the ball cannot move
+     */
+    public int steps(int cell, int direction) {
+        int distance = Math.abs(destination[cell * 4 + direction] - cell);
+        return direction == LEFT || direction == RIGHT ? distance : distance / cols;
+    }
+
+    /**
+     * Gets the index of the rolls stopping at each cell, building it on first use.
+     *
+     * @return the reverse roll index
+     */
+    public ReverseRollIndex reverseIndex() {
+        ReverseRollIndex index = reverseIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = reverseIndex;
+                if (index == null) {
+                    index = new ReverseRollIndex(this);
+                    reverseIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the fewest rolls needed to get from one cell to another.
+     *
+     * @param from the starting cell index
+     * @param to the target cell index
+     * @return the number of rolls, or {@code -1} if {@code to} cannot be reached
+     */
+    public int minRolls(int from, int to) {
+        computeAllPairs();
+        return minRolls[from * getCells() + to];
+    }
+
+    /**
+     * Gets the fewest cells that must be travelled to get from one cell to another.
+     *
+     * @param from the starting cell index
+     * @param to the target cell index
+     * @return the number of cells travelled, or {@code -1} if {@code to} cannot be reached
+     */
+    public int minMoves(int from, int to) {
+        computeAllPairs();
+        return minMoves[from * getCells() + to];
+    }
+
+    /**
+     * Gets the first roll of a solution with the fewest rolls.
+     *
+     * @param from the starting cell index
+     * @param to the target cell index
+     * @return the direction code, or {@code -1} if {@code from == to} or {@code to} cannot be reached
+     */
+    public int nextRollByRolls(int from, int to) {
+        computeAllPairs();
+        return firstRollByRolls[from * getCells() + to];
+    }
+
+    /**
+     * Gets the first roll of a solution travelling the fewest cells.
+     *
+     * @param from the starting cell index
+     * @param to the target cell index
+     * @return the direction code, or {@code -1} if {@code from == to} or {@code to} cannot be reached
+     */
+    public int nextRollByMoves(int from, int to) {
+        computeAllPairs();
+        return firstRollByMoves[from * getCells() + to];
+    }
+
+    private void computeAllPairs() {
+        if (minRolls == null) {
+            synchronized (this) {
+                if (minRolls == null) {
+                    computeAllPairsLocked();
+                }
+            }
+        }
+    }
+
+    private void computeAllPairsLocked() {
+        int cells = getCells();
+        if (cells > MAX_ALL_PAIRS_CELLS) {
+            throw new IllegalStateException("Board too large for all-pairs tables: " + cells + " cells");
+        }
+        int[] rolls = new int[cells * cells];
+        int[] moves = new int[cells * cells];
+        byte[] byRolls = new byte[cells * cells];
+        byte[] byMoves = new byte[cells * cells];
+        int[] queue = new int[cells];
+        IntMinHeap open = new IntMinHeap(cells);
+        for (int source = 0; source < cells; source++) {
+            breadthFirst(source, rolls, byRolls, queue);
+            dijkstra(source, moves, byMoves, open);
+        }
+        minMoves = moves;
+        firstRollByRolls = byRolls;
+        firstRollByMoves = byMoves;
+        minRolls = rolls;
+    }
+
+    private void breadthFirst(int source, int[] distances, byte[] firstRolls, int[] queue) {
+        int cells = getCells();
+        int offset = source * cells;
+        Arrays.fill(distances, offset, offset + cells, UNREACHABLE);
+        Arrays.fill(firstRolls, offset, offset + cells, (byte) UNREACHABLE);
+        distances[offset + source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = UP; direction <= LEFT; direction++) {
+                int next = destination(cell, direction);
+                if (distances[offset + next] == UNREACHABLE) {
+                    distances[offset + next] = distances[offset + cell] + 1;
+                    firstRolls[offset + next] = cell == source ? (byte) direction : firstRolls[offset + cell];
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the fewest cells travelled from a source to every cell. Improved cells are pushed again
+     * instead of decreasing their key, and entries whose priority is larger than the distance found since
+     * are skipped when they are popped.
+     */
+    private void dijkstra(int source, int[] distances, byte[] firstRolls, IntMinHeap open) {
+        int cells = getCells();
+        int offset = source * cells;
+        Arrays.fill(distances, offset, offset + cells, Integer.MAX_VALUE);
+        Arrays.fill(firstRolls, offset, offset + cells, (byte) UNREACHABLE);
+        distances[offset + source] = 0;
+        open.clear();
+        open.push(0, source);
+        while (!open.isEmpty()) {
+            int reached = open.peekPriority();
+            int cell = open.pop();
+            if (reached > distances[offset + cell]) {
+                continue;
+            }
+            for (int direction = UP; direction <= LEFT; direction++) {
+                int next = destination(cell, direction);
+                int distance = reached + steps(cell, direction);
+                if (distance < distances[offset + next]) {
+                    distances[offset + next] = distance;
+                    firstRolls[offset + next] = cell == source ? (byte) direction : firstRolls[offset + cell];
+                    open.push(distance, next);
+                }
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (distances[offset + cell] == Integer.MAX_VALUE) {
+                distances[offset + cell] = UNREACHABLE;
+            }
+        }
+    }
+}
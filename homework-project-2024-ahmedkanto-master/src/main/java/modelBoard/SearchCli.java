@@ -3,19 +3,69 @@ package modelBoard;
 import puzzle.solver.BreadthFirstSearch;
 import puzzle.solver.Node;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
+/**
+ * Command line solver for the Labyrinth puzzle. With {@code --cache FILE} the solution with the fewest
+ * rolls is looked up in a {@link SolutionCache} spill file, and saved there for the next run. With
+ * {@code --compare} the nodes generated by a search over {@link LabyrinthModel} states are counted too;
+ * that search tells apart every number of moves made and is slow on large boards.
+ *
+ * <p>Usage: {@code SearchCli [--cache FILE] [--compare] [BOARD]}
+ */
 public class SearchCli {
+    private static final int CACHE_CAPACITY = 100_000;
+
     /**
      * The main method of the application.
-     * @param args the command line arguments
+     * @param args the command line arguments, optionally a cache file, {@code --compare} and the path of a
+     *             board in text form
+     * @throws IOException if the board file cannot be read or the cache file cannot be read or written
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        Path cacheFile = null;
+        Path boardFile = null;
+        boolean compare = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--cache") && i + 1 < args.length) {
+                cacheFile = Path.of(args[++i]);
+            } else if (args[i].equals("--compare")) {
+                compare = true;
+            } else if (args[i].startsWith("--") || boardFile != null) {
+                System.err.println("Usage: SearchCli [--cache FILE] [--compare] [BOARD]");
+                System.exit(2);
+            } else {
+                boardFile = Path.of(args[i]);
+            }
+        }
+
+        LabyrinthModel model = boardFile != null
+                ? new LabyrinthModel(Board.parse(Files.readString(boardFile)))
+                : new LabyrinthModel();
+
+        long started = System.nanoTime();
+        Reachability reachability = model.getBoard().reachability();
+        System.out.printf("Dead ends: %d of %d cells (found in %d us)%n", reachability.getDeadCount(),
+                model.getBoard().getCells(), (System.nanoTime() - started) / 1000);
+        if (model.isTrapped()) {
+            System.out.println("No solution found: the target cannot be reached from the start.");
+            return;
+        }
 
-        LabyrinthModel model = new LabyrinthModel();
-        BreadthFirstSearch<String> solver = new BreadthFirstSearch<>();
+        if (cacheFile != null) {
+            SolutionCache cache = SolutionCache.load(cacheFile, CACHE_CAPACITY);
+            started = System.nanoTime();
+            Solution cached = cache.solve(model.getBoard(), model.getBallCell());
+            System.out.printf("Fewest rolls from the cache (%s in %d us): %s%n",
+                    cache.getHits() > 0 ? "hit" : "miss", (System.nanoTime() - started) / 1000, cached);
+            cache.save(cacheFile);
+        }
 
-        Optional<Node<String>> solution = solver.solve(model);
+        CountingState<String> searchState = new CountingState<>(model.toSearchState());
+        Optional<Node<String>> solution = new BreadthFirstSearch<String>().solve(searchState);
 
         if (solution.isPresent()) {
             System.out.println("Solution found:");
@@ -23,7 +73,29 @@ public class SearchCli {
         } else {
             System.out.println("No solution found.");
         }
+        if (compare) {
+            CountingState<String> modelState = new CountingState<>(model.clone());
+            new BreadthFirstSearch<String>().solve(modelState);
+            System.out.println("Nodes generated with LabyrinthModel identity: " + modelState.getGeneratedNodes());
+        }
+        System.out.println("Nodes generated with position-only identity: " + searchState.getGeneratedNodes());
+
+        RollGraph graph = model.getRollGraph();
+        int start = model.getBallCell();
+        int target = model.getTargetCell();
+        if (graph.getCells() <= RollGraph.MAX_ALL_PAIRS_CELLS) {
+            System.out.println("Fewest rolls: " + graph.minRolls(start, target));
+            System.out.println("Fewest moves: " + graph.minMoves(start, target));
+        }
+
+        OptimalSolver optimalSolver = new OptimalSolver(graph);
+        System.out.println("A* by rolls: " + optimalSolver.solve(start, target, OptimalSolver.Metric.ROLLS));
+        System.out.println("A* by moves: " + optimalSolver.solve(start, target, OptimalSolver.Metric.MOVES));
 
+        Solution breadthFirst = new FrontierBfs(graph).solveSequential(start, target);
+        Solution bidirectional = new BidirectionalSolver(graph).solve(start, target);
+        System.out.println("Nodes expanded by breadth-first search: " + breadthFirst.getExpandedNodes());
+        System.out.println("Nodes expanded by bidirectional search: " + bidirectional.getExpandedNodes());
     }
 
     private static void printSolution(Node<String> solution) {
@@ -0,0 +1,162 @@
+package modelBoard;
+
+import java.util.Arrays;
+
+/**
+ * The result of solving a board: the rolls of the solution, its costs and the search effort.
+ */
+public final class Solution {
+    private static final int[] NO_ROLLS = new int[0];
+
+    private final boolean solvable;
+    private final int[] rolls;
+    private final int moves;
+    private final long expandedNodes;
+
+    private Solution(boolean solvable, int[] rolls, int moves, long expandedNodes) {
+        this.solvable = solvable;
+        this.rolls = rolls;
+        this.moves = moves;
+        this.expandedNodes = expandedNodes;
+    }
+
+    /**
+     * Creates a solution by following parent links back from the target.
+     *
+     * @param graph the roll graph the solution was found in
+     * @param start the starting cell index
+     * @param target the target cell index
+     * @param parent the cell each visited cell was reached from
+     * @param parentRoll the direction each visited cell was reached with
+     * @param expandedNodes the number of nodes expanded by the search
+     * @return the solution
+     */
+    static Solution of(RollGraph graph, int start, int target, int[] parent, byte[] parentRoll, long expandedNodes) {
+        int length = 0;
+        for (int cell = target; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        int[] rolls = new int[length];
+        int moves = 0;
+        for (int cell = target; cell != start; cell = parent[cell]) {
+            rolls[--length] = parentRoll[cell];
+            moves += graph.steps(parent[cell], parentRoll[cell]);
+        }
+        return new Solution(true, rolls, moves, expandedNodes);
+    }
+
+    /**
+     * Creates a solution from its rolls.
+     *
+     * @param graph the roll graph the solution was found in
+     * @param start the starting cell index
+     * @param rolls the direction codes of the rolls in order
+     * @param expandedNodes the number of nodes expanded by the search
+     * @return the solution
+     */
+    static Solution of(RollGraph graph, int start, int[] rolls, long expandedNodes) {
+        int moves = 0;
+        int cell = start;
+        for (int roll : rolls) {
+            moves += graph.steps(cell, roll);
+            cell = graph.destination(cell, roll);
+        }
+        return new Solution(true, rolls, moves, expandedNodes);
+    }
+
+    /**
+     * Creates a solution from its stored parts, without a roll graph to check them against.
+     *
+     * @param rolls the direction codes of the rolls in order
+     * @param moves the number of cells travelled
+     * @param expandedNodes the number of nodes expanded by the search that found it
+     * @return the solution
+     */
+    static Solution of(int[] rolls, int moves, long expandedNodes) {
+        return new Solution(true, rolls, moves, expandedNodes);
+    }
+
+    /**
+     * Creates the result of a search that could not reach the target.
+     *
+     * @param expandedNodes the number of nodes expanded by the search
+     * @return the unsolvable result
+     */
+    static Solution unsolvable(long expandedNodes) {
+        return new Solution(false, NO_ROLLS, -1, expandedNodes);
+    }
+
+    /**
+     * Checks if the target can be reached.
+     *
+     * @return true if a solution was found, false otherwise
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * Gets the directions of the rolls of the solution.
+     *
+     * @return the direction codes in order
+     */
+    public int[] getRolls() {
+        return rolls.clone();
+    }
+
+    /**
+     * Gets the number of rolls of the solution.
+     *
+     * @return the number of rolls, or {@code -1} if unsolvable
+     */
+    public int getRollCount() {
+        return solvable ? rolls.length : -1;
+    }
+
+    /**
+     * Gets the number of cells travelled by the solution.
+     *
+     * @return the number of moves, or {@code -1} if unsolvable
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the number of nodes expanded while searching.
+     *
+     * @return the number of expanded nodes
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    @Override
+    public String toString() {
+        if (!solvable) {
+            return "Solution{unsolvable, expanded=" + expandedNodes + "}";
+        }
+        StringBuilder names = new StringBuilder();
+        for (int roll : rolls) {
+            if (names.length() > 0) {
+                names.append(' ');
+            }
+            names.append(RollGraph.directionName(roll));
+        }
+        return "Solution{rolls=" + rolls.length + ", moves=" + moves + ", expanded=" + expandedNodes
+                + ", path=[" + names + "]}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Solution)) return false;
+        Solution that = (Solution) o;
+        return solvable == that.solvable && moves == that.moves && Arrays.equals(rolls, that.rolls);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(rolls) + moves;
+    }
+}
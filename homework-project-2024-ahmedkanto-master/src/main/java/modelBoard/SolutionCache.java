@@ -0,0 +1,242 @@
+package modelBoard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of solutions with the fewest rolls, keyed by the {@link Board#fingerprint()} of the
+ * board and the cell the ball is in, so that solving the same position again is a hash lookup. When the
+ * cache is full the least recently used solution is evicted. The hits and misses of {@link #get} are
+ * counted.
+ *
+ * <p>The cache can be saved to a spill file and loaded again, so that it survives restarts. The file
+ * starts with the {@link #MAGIC} number and a format version, followed by the entries from the least to
+ * the most recently used. A truncated last entry, left by a crash while saving, is ignored. All methods
+ * are thread-safe.
+ */
+public final class SolutionCache {
+    /**
+     * The number every spill file starts with, the characters {@code LSOL}.
+     */
+    public static final int MAGIC = 0x4C534F4C;
+
+    /**
+     * The version of the format written by {@link #save(Path)}.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES + 3 * Integer.BYTES;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Solution> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the largest number of solutions kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Solution> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache holding the solutions of a spill file. A missing file gives an empty cache. An entry
+     * cut off at the end of the file is dropped, and is recognized before its rolls are allocated.
+     *
+     * @param path the path of the spill file
+     * @param capacity the largest number of solutions kept
+     * @return the cache
+     * @throws IOException if the file cannot be read or is not a spill file
+     */
+    public static SolutionCache load(Path path, int capacity) throws IOException {
+        SolutionCache cache = new SolutionCache(capacity);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a solution cache file: " + path);
+            }
+            long remaining = Files.size(path) - HEADER_BYTES;
+            while (true) {
+                long fingerprint = in.readLong();
+                int cell = in.readInt();
+                int moves = in.readInt();
+                long expandedNodes = in.readLong();
+                int rollCount = in.readInt();
+                remaining -= ENTRY_BYTES;
+                if (rollCount > Board.MAX_DIMENSION * Board.MAX_DIMENSION) {
+                    throw new IOException("Corrupt solution cache file: " + path);
+                }
+                if (rollCount > remaining) {
+                    return cache;
+                }
+                Solution solution;
+                if (rollCount < 0) {
+                    solution = Solution.unsolvable(expandedNodes);
+                } else {
+                    int[] rolls = new int[rollCount];
+                    for (int i = 0; i < rollCount; i++) {
+                        rolls[i] = in.readByte();
+                    }
+                    remaining -= rollCount;
+                    solution = Solution.of(rolls, moves, expandedNodes);
+                }
+                cache.entries.put(new Key(fingerprint, cell), solution);
+            }
+        } catch (NoSuchFileException | EOFException e) {
+            return cache;
+        }
+    }
+
+    /**
+     * Writes the cached solutions to a spill file. The file is written under a temporary name and then
+     * moved over the old file, so a crash leaves either the old or the new file.
+     *
+     * @param path the path of the spill file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (Map.Entry<Key, Solution> entry : entries.entrySet()) {
+                Solution solution = entry.getValue();
+                out.writeLong(entry.getKey().fingerprint);
+                out.writeInt(entry.getKey().cell);
+                out.writeInt(solution.getMoves());
+                out.writeLong(solution.getExpandedNodes());
+                out.writeInt(solution.getRollCount());
+                for (int roll : solution.getRolls()) {
+                    out.writeByte(roll);
+                }
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Gets a cached solution and counts a hit or a miss.
+     *
+     * @param board the board
+     * @param ballCell the cell the ball is in
+     * @return the solution from the ball to the target, or null if it is not cached
+     */
+    public synchronized Solution get(Board board, int ballCell) {
+        Solution solution = entries.get(new Key(board.fingerprint(), ballCell));
+        if (solution == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return solution;
+    }
+
+    /**
+     * Caches a solution, evicting the least recently used solution if the cache is full.
+     *
+     * @param board the board
+     * @param ballCell the cell the ball is in
+     * @param solution the solution from the ball to the target
+     */
+    public synchronized void put(Board board, int ballCell, Solution solution) {
+        entries.put(new Key(board.fingerprint(), ballCell), solution);
+    }
+
+    /**
+     * Gets a solution with the fewest rolls from the cache, or finds it with a
+     * {@link BidirectionalSolver} and caches it. The search runs without holding the lock of the cache.
+     *
+     * @param board the board
+     * @param ballCell the cell the ball is in
+     * @return the solution from the ball to the target
+     */
+    public Solution solve(Board board, int ballCell) {
+        Solution solution = get(board, ballCell);
+        if (solution == null) {
+            solution = new BidirectionalSolver(board.rollGraph()).solve(ballCell, board.getTargetCell());
+            put(board, ballCell, solution);
+        }
+        return solution;
+    }
+
+    /**
+     * Gets the number of cached solutions.
+     *
+     * @return the number of solutions
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the largest number of solutions kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of lookups that found a solution.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that found no solution.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class Key {
+        private final long fingerprint;
+        private final int cell;
+
+        private Key(long fingerprint, int cell) {
+            this.fingerprint = fingerprint;
+            this.cell = cell;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return fingerprint == that.fingerprint && cell == that.cell;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(Board.mix(fingerprint + cell));
+        }
+    }
+}
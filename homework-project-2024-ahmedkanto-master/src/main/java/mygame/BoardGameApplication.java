@@ -11,12 +11,15 @@ import java.io.IOException;
  * The Application class extra starter.
  */
 public class BoardGameApplication extends Application {
+    private BoardGameController controller;
+
     @Override
     public void start(Stage primaryStage) {
         try {
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui.fxml"));
             Parent root = loader.load();
+            controller = loader.getController();
             Scene scene = new Scene(root);
 
 
@@ -35,4 +38,11 @@ public class BoardGameApplication extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package mygame;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
@@ -10,27 +8,34 @@ import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Line;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import modelBoard.Board;
+import modelBoard.Direction;
+import modelBoard.DistanceField;
 import modelBoard.GameResult;
 import modelBoard.LabyrinthModel;
+import modelBoard.Leaderboard;
+import modelBoard.MoveHistory;
+import modelBoard.OptimalSolver;
+import modelBoard.PlayerStatistics;
+import modelBoard.PlayerStats;
+import modelBoard.RollGraph;
+import modelBoard.Solution;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for the Labyrinth puzzle game. Handles game logic, UI interactions, and high scores.
@@ -38,7 +43,10 @@ import java.util.stream.Collectors;
 public class BoardGameController {
 
     @FXML
-    private GridPane board;
+    private StackPane board;
+
+    @FXML
+    private Canvas boardCanvas;
 
     @FXML
     private Label playerNameLabel;
@@ -49,6 +57,12 @@ public class BoardGameController {
     @FXML
     private Label startTimeLabel;
 
+    @FXML
+    private Label elapsedLabel;
+
+    @FXML
+    private Label hintLabel;
+
     @FXML
     private TableView<GameResult> highScoresTable;
 
@@ -58,14 +72,29 @@ public class BoardGameController {
     @FXML
     private Button resetButton;
 
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
     @FXML
     private Button changeNameButton;
 
     private LabyrinthModel model;
+    private BoardRenderer boardRenderer;
     private String playerName;
-    private Set<GameResult> highScores;
-    private Timer timer;
-    private static final String HIGH_SCORES_FILE = "highscores.json";
+    private Leaderboard highScores;
+    private HighScoreService highScoreService;
+    private PlayerStatistics playerStatistics;
+    private CompletableFuture<DistanceField> distanceField;
+    private CompletableFuture<Solution> optimalSolution;
+    private AnimationTimer clock;
+    private long clockStartNanos;
+    private long shownSeconds;
+    private static final String JSON_HIGH_SCORES_FILE = "highscores.json";
+    private static final String HIGH_SCORE_LOG_FILE = "highscores.log";
+    private static final String PLAYERS_FILE = "players.txt";
     private static final Logger logger = LogManager.getLogger(BoardGameController.class);
 
     /**
@@ -73,7 +102,27 @@ public class BoardGameController {
      */
     public void initialize() {
         model = new LabyrinthModel();
-        highScores = new HashSet<>(loadHighScores());
+        model.setHistory(new MoveHistory());
+        Board boardLayout = model.getBoard();
+        distanceField = CompletableFuture.supplyAsync(() -> new DistanceField(boardLayout));
+        optimalSolution = CompletableFuture.supplyAsync(() -> new OptimalSolver(boardLayout.rollGraph())
+                .solve(boardLayout.getStartCell(), boardLayout.getTargetCell(), OptimalSolver.Metric.MOVES));
+        model.addListener((changed, previousCell) -> {
+            updateLiveInfo();
+            drawBoard();
+            undoButton.setDisable(!changed.canUndoMove());
+            redoButton.setDisable(!changed.canRedoMove());
+            DistanceField field = distanceField.getNow(null);
+            if (field != null && field.rollsToTarget(changed.getBallCell()) == DistanceField.UNREACHABLE) {
+                hintLabel.setText("Trapped: the target can no longer be reached, reset to try again");
+            }
+        });
+        boardRenderer = new BoardRenderer(boardCanvas);
+        highScores = new Leaderboard();
+        playerStatistics = new PlayerStatistics();
+        highScoreService = new HighScoreService(Path.of(HIGH_SCORE_LOG_FILE), Path.of(PLAYERS_FILE),
+                Path.of(JSON_HIGH_SCORES_FILE), highScores, playerStatistics, Platform::runLater);
+        highScoreService.load(this::updateHighScoresTable);
         showPlayerNameWindow();
         startTimeLabel.setText("Start Time: " + model.getFormattedStartTime());
 
@@ -85,6 +134,7 @@ public class BoardGameController {
             board.requestFocus();
         });
         resetButton.setOnAction(event -> {
+            recordGivenUpGame();
             resetGame();
             showGiveUpAlert();
             board.requestFocus();
@@ -93,7 +143,23 @@ public class BoardGameController {
             handleChangeName();
             board.requestFocus();
         });
-        startTimer();
+        undoButton.setOnAction(event -> {
+            undoMove();
+            board.requestFocus();
+        });
+        redoButton.setOnAction(event -> {
+            redoMove();
+            board.requestFocus();
+        });
+        undoButton.setDisable(true);
+        redoButton.setDisable(true);
+        clock = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                updateElapsedTime(now);
+            }
+        };
+        startClock();
 
         board.requestFocus();
         board.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
@@ -102,6 +168,9 @@ public class BoardGameController {
                 case DOWN:
                 case LEFT:
                 case RIGHT:
+                case H:
+                case Z:
+                case Y:
                     handleKeyPress(event);
                     event.consume();
                     break;
@@ -112,16 +181,26 @@ public class BoardGameController {
     }
 
     /**
-     * Starts the timer to update the moves count every second.
+     * Starts the clock showing the time elapsed since the start time of the game.
      */
-    private void startTimer() {
-        timer = new Timer(true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> movesLabel.setText("Moves: " + model.getMoves()));
-            }
-        }, 0, 1000);
+    private void startClock() {
+        clockStartNanos = System.nanoTime()
+                - Duration.between(model.getStartTime(), LocalDateTime.now()).toNanos();
+        shownSeconds = -1;
+        clock.start();
+    }
+
+    /**
+     * Updates the elapsed time label. Called on every frame, it changes the label only once a second.
+     *
+     * @param now the time of the frame in nanoseconds, on the scale of {@link System#nanoTime()}
+     */
+    private void updateElapsedTime(long now) {
+        long seconds = Math.max(0, (now - clockStartNanos) / 1_000_000_000L);
+        if (seconds != shownSeconds) {
+            shownSeconds = seconds;
+            elapsedLabel.setText("Time: " + formatDuration(Duration.ofSeconds(seconds)));
+        }
     }
 
     /**
@@ -194,48 +273,10 @@ public class BoardGameController {
     }
 
     /**
-     * Draws the game board based on the current state of the model.
+     * Draws the game board based on the current state of the model, redrawing only the cells that changed.
      */
     private void drawBoard() {
-        board.getChildren().clear();
-        board.setHgap(0);
-        board.setVgap(0);
-        for (int row = 0; row < model.getRows(); row++) {
-            for (int col = 0; col < model.getCols(); col++) {
-                Pane cellPane = new Pane();
-                cellPane.setPrefSize(100, 100);
-                cellPane.setStyle("-fx-border-color: black; -fx-background-color: white;");
-
-                if (model.isBallPosition(row, col)) {
-                    Circle ball = new Circle(50, Color.BLUE);
-                    ball.setCenterX(50);
-                    ball.setCenterY(50);
-                    cellPane.getChildren().add(ball);
-                }
-
-                if (model.isTargetPosition(row, col)) {
-                    Circle target = new Circle(50, Color.TRANSPARENT);
-                    target.setStroke(Color.BLACK);
-                    target.setCenterX(50);
-                    target.setCenterY(50);
-                    cellPane.getChildren().add(target);
-                }
-
-                if (model.hasHorizontalWall(row, col)) {
-                    Line hWall = new Line(0, 100, 100, 100);
-                    hWall.setStrokeWidth(11);
-                    cellPane.getChildren().add(hWall);
-                }
-
-                if (model.hasVerticalWall(row, col)) {
-                    Line vWall = new Line(100, 0, 100, 100);
-                    vWall.setStrokeWidth(11);
-                    cellPane.getChildren().add(vWall);
-                }
-
-                board.add(cellPane, col, row);
-            }
-        }
+        boardRenderer.render(model);
     }
 
     /**
@@ -245,41 +286,97 @@ public class BoardGameController {
      */
     @FXML
     void handleKeyPress(KeyEvent event) {
+        hintLabel.setText("");
+        if (model.isFinished()) {
+            return;
+        }
         switch (event.getCode()) {
             case UP:
-                model.moveUp();
+                model.apply(Direction.UP);
                 break;
             case DOWN:
-                model.moveDown();
+                model.apply(Direction.DOWN);
                 break;
             case LEFT:
-                model.moveLeft();
+                model.apply(Direction.LEFT);
                 break;
             case RIGHT:
-                model.moveRight();
+                model.apply(Direction.RIGHT);
                 break;
+            case H:
+                showHint();
+                return;
+            case Z:
+                undoMove();
+                return;
+            case Y:
+                redoMove();
+                return;
             default:
                 return;
         }
-        drawBoard();
         checkGameStatus();
     }
 
+    /**
+     * Takes back the last roll.
+     */
+    private void undoMove() {
+        hintLabel.setText("");
+        model.undoMove();
+    }
+
+    /**
+     * Makes the last undone roll again.
+     */
+    private void redoMove() {
+        hintLabel.setText("");
+        if (model.redoMove()) {
+            checkGameStatus();
+        }
+    }
+
+    /**
+     * Shows the next roll of a solution with the fewest rolls from the current ball position. The rolls
+     * are looked up in the distance field of the board, which is built in the background when the game
+     * starts; if it is not ready yet, the hint is shown as soon as it is.
+     */
+    private void showHint() {
+        DistanceField field = distanceField.getNow(null);
+        if (field == null) {
+            hintLabel.setText("Hint: computing...");
+            distanceField.thenRunAsync(this::showHint, Platform::runLater);
+            return;
+        }
+        int ball = model.getBallCell();
+        int direction = field.nextRoll(ball);
+        if (direction == DistanceField.UNREACHABLE) {
+            hintLabel.setText(model.isGameWon() ? "" : "Hint: the target cannot be reached");
+            return;
+        }
+        hintLabel.setText("Hint: " + RollGraph.directionName(direction)
+                + " (" + field.rollsToTarget(ball) + " rolls left)");
+    }
+
     /**
      * Checks the game status to determine if the game is won or if the player has given up.
      */
     private void checkGameStatus() {
         if (model.isGameWon()) {
-            timer.cancel();
+            clock.stop();
             LocalDateTime endTime = LocalDateTime.now();
             Duration duration = Duration.between(model.getStartTime(), endTime);
-            GameResult result = new GameResult(playerName, model.getStartTime(), endTime, model.getMoves(), true);
+            GameResult result = new GameResult(playerName, model.getStartTime(), endTime, model.getMovesPlayed(),
+                    true);
             highScores.add(result);
-            saveHighScores();
+            playerStatistics.record(result);
+            highScoreService.save(result);
             updateHighScoresTable();
             showVictoryAlert(duration);
-            logger.info("Game won by {} in {} moves and {} duration", playerName, model.getMoves(), formatDuration(duration));
+            logger.info("Replay of {}: {}", playerName, replay(model.getHistory()));
+            logger.info("Game won by {} in {} moves and {} duration", playerName, model.getMovesPlayed(), formatDuration(duration));
         } else if (resetButton.isPressed()) {
+            recordGivenUpGame();
             resetGame();
             showGiveUpAlert();
             board.requestFocus();
@@ -288,7 +385,23 @@ public class BoardGameController {
     }
 
     /**
-     * Shows an alert dialog indicating that the player has won the game.
+     * Records the current game as not solved in the statistics and the high score log, if the player has
+     * made a move and not won it. Given up games are not added to the leaderboard.
+     */
+    private void recordGivenUpGame() {
+        if (model.isFinished() || model.getMovesPlayed() == 0) {
+            return;
+        }
+        GameResult result = new GameResult(playerName, model.getStartTime(), LocalDateTime.now(),
+                model.getMovesPlayed(), false);
+        playerStatistics.record(result);
+        highScoreService.save(result);
+        logger.info("Game given up by {} after {} moves", playerName, model.getMovesPlayed());
+    }
+
+    /**
+     * Shows an alert dialog indicating that the player has won the game. The fewest moves are solved in
+     * the background when the game starts, and left out if the search has not finished yet.
      *
      * @param duration the duration of the game
      */
@@ -296,10 +409,36 @@ public class BoardGameController {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Victory!");
         alert.setHeaderText("You won the game!");
-        alert.setContentText("Moves: " + model.getMoves() + "\nTime: " + formatDuration(duration));
+        Solution optimal = optimalSolution.getNow(null);
+        String text = "Moves: " + model.getMovesPlayed()
+                + (optimal != null ? " (optimal: " + optimal.getMoves() + ")" : "")
+                + "\nTime: " + formatDuration(duration);
+        PlayerStats stats = playerStatistics.of(playerName);
+        if (stats.getGamesSolved() > 0) {
+            text += "\nYour best: " + formatDuration(stats.getBestDuration()) + ", " + stats.getBestMoves()
+                    + " moves (" + stats.getGamesSolved() + " of " + stats.getGamesPlayed() + " games solved)";
+        }
+        alert.setContentText(text);
         alert.showAndWait();
     }
 
+    /**
+     * Gets the rolls of a history as text: the cell of the oldest roll kept, then the directions of the
+     * rolls, oldest first.
+     *
+     * @param history the history
+     * @return the replay text
+     */
+    private String replay(MoveHistory history) {
+        long[] entries = history.toArray();
+        StringJoiner text = new StringJoiner(" ", "from cell " + (entries.length > 0
+                ? MoveHistory.fromCell(entries[0]) : model.getBallCell()) + ": ", "");
+        for (long entry : entries) {
+            text.add(RollGraph.directionName(MoveHistory.direction(entry)));
+        }
+        return text.toString();
+    }
+
     /**
      * Shows an alert dialog indicating that the player has given up the game.
      */
@@ -323,50 +462,25 @@ public class BoardGameController {
     }
 
     /**
-     * Resets the game to the initial state.
+     * Resets the game to the initial state. The model is reset in place, and its listener redraws the
+     * board and the moves count.
      */
     @FXML
     private void resetGame() {
-        timer.cancel();
-        model = new LabyrinthModel();
-        drawBoard();
+        model.reset(LocalDateTime.now());
         startTimeLabel.setText("Start Time: " + model.getFormattedStartTime());
-        movesLabel.setText("Moves: 0");
-        startTimer();
+        hintLabel.setText("");
+        startClock();
         board.requestFocus();
         logger.info("Game reset");
     }
 
     /**
-     * Loads the high scores from a file.
-     *
-     * @return a list of game results
-     */
-    private List<GameResult> loadHighScores() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        File file = new File(HIGH_SCORES_FILE);
-        if (file.exists()) {
-            try {
-                return mapper.readValue(file, new TypeReference<List<GameResult>>() {});
-            } catch (IOException e) {
-                logger.error("Failed to load high scores", e);
-            }
-        }
-        return new ArrayList<>();
-    }
-
-    /**
-     * Saves the high scores to a file.
+     * Writes the pending high scores and stops the clock. Called when the application stops.
      */
-    private void saveHighScores() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        try {
-            mapper.writeValue(new File(HIGH_SCORES_FILE), new ArrayList<>(getTopHighScores()));
-        } catch (IOException e) {
-            logger.error("Failed to save high scores", e);
-        }
+    public void shutdown() {
+        clock.stop();
+        highScoreService.close();
     }
 
     /**
@@ -375,12 +489,7 @@ public class BoardGameController {
      * @return a list of the top high scores
      */
     private List<GameResult> getTopHighScores() {
-        return highScores.stream()
-                .sorted(Comparator.comparing(GameResult::getDuration)
-                        .thenComparing(GameResult::getMoves)
-                        .thenComparing(GameResult::getStartTime))
-                .limit(10)
-                .collect(Collectors.toList());
+        return highScores.top(10);
     }
 
     /**
@@ -410,7 +519,7 @@ public class BoardGameController {
      */
     @FXML
     private void updateLiveInfo() {
-        movesLabel.setText("Moves: " + model.getMoves());
+        movesLabel.setText("Moves: " + model.getMovesPlayed());
     }
 
 }
@@ -0,0 +1,117 @@
+package mygame;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import modelBoard.Board;
+import modelBoard.LabyrinthModel;
+
+/**
+ * Draws the board of a {@link LabyrinthModel} on a single {@link Canvas}. The whole board is drawn only
+ * when the board changes; after a move only the cells the ball left and entered are redrawn, so the cost
+ * of a move does not depend on the size of the board and no scene graph nodes are created.
+ *
+ * <p>Cells are drawn like the original cell panes of 100 by 100 pixels, scaled to fit the canvas: a black
+ * border, the ball as a filled blue circle, the target as a black ring, and the walls as thick lines on
+ * the bottom and right edges of their cells.
+ */
+public class BoardRenderer {
+    private static final double CELL = 100;
+    private static final double WALL_WIDTH = 11;
+
+    private final Canvas canvas;
+    private Board board;
+    private double scale;
+    private int ballCell = -1;
+
+    /**
+     * Creates a renderer drawing on the specified canvas.
+     *
+     * @param canvas the canvas to draw on
+     */
+    public BoardRenderer(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    /**
+     * Brings the canvas up to date with the model, redrawing only the cells that changed since the last
+     * call.
+     *
+     * @param model the model to draw
+     */
+    public void render(LabyrinthModel model) {
+        if (model.getBoard() != board) {
+            board = model.getBoard();
+            scale = Math.min(canvas.getWidth() / board.getCols(), canvas.getHeight() / board.getRows()) / CELL;
+            ballCell = model.getBallCell();
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            for (int cell = 0; cell < board.getCells(); cell++) {
+                drawCell(gc, cell);
+            }
+            for (int cell = 0; cell < board.getCells(); cell++) {
+                drawWalls(gc, cell);
+            }
+            return;
+        }
+        int previous = ballCell;
+        ballCell = model.getBallCell();
+        if (previous != ballCell) {
+            redraw(previous);
+            redraw(ballCell);
+        }
+    }
+
+    /**
+     * Redraws one cell, clipped to its bounds, together with the walls of its neighbours that reach into it.
+     */
+    private void redraw(int cell) {
+        int cols = board.getCols();
+        int row = cell / cols;
+        int col = cell % cols;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(col * CELL * scale, row * CELL * scale, CELL * scale, CELL * scale);
+        gc.clip();
+        drawCell(gc, cell);
+        for (int r = Math.max(0, row - 1); r <= Math.min(board.getRows() - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                drawWalls(gc, r * cols + c);
+            }
+        }
+        gc.restore();
+    }
+
+    private void drawCell(GraphicsContext gc, int cell) {
+        double x = cell % board.getCols() * CELL * scale;
+        double y = cell / board.getCols() * CELL * scale;
+        double size = CELL * scale;
+        gc.setFill(Color.WHITE);
+        gc.fillRect(x, y, size, size);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeRect(x + 0.5, y + 0.5, size - 1, size - 1);
+        if (cell == ballCell) {
+            gc.setFill(Color.BLUE);
+            gc.fillOval(x, y, size, size);
+        }
+        if (cell == board.getTargetCell()) {
+            gc.strokeOval(x, y, size, size);
+        }
+    }
+
+    private void drawWalls(GraphicsContext gc, int cell) {
+        double x = cell % board.getCols() * CELL * scale;
+        double y = cell / board.getCols() * CELL * scale;
+        double size = CELL * scale;
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(WALL_WIDTH * scale);
+        if (board.hasHorizontalWall(cell)) {
+            gc.strokeLine(x, y + size, x + size, y + size);
+        }
+        if (board.hasVerticalWall(cell)) {
+            gc.strokeLine(x + size, y, x + size, y + size);
+        }
+    }
+}
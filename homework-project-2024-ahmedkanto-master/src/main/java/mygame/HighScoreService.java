@@ -0,0 +1,203 @@
+package mygame;
+
+import modelBoard.GameResult;
+import modelBoard.GameResultCodec;
+import modelBoard.HighScoreLog;
+import modelBoard.HighScoreStore;
+import modelBoard.Leaderboard;
+import modelBoard.PlayerDictionary;
+import modelBoard.PlayerStatistics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads and saves high scores on a single background writer thread, so that no file I/O happens on the
+ * JavaFX application thread. Saved results are queued; while the writer is busy, further results
+ * accumulate and are appended to the {@link HighScoreLog} together in one write. The log keeps every
+ * result, so the statistics of all games can be rebuilt from it. When it is opened with damaged records,
+ * it is compacted before anything is read or appended, which drops only those records and replaces the
+ * file by an atomic rename of a temporary file.
+ */
+public class HighScoreService implements AutoCloseable {
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final Logger logger = LogManager.getLogger(HighScoreService.class);
+
+    private final Path logFile;
+    private final Path playersFile;
+    private final Path jsonFile;
+    private final Leaderboard leaderboard;
+    private final PlayerStatistics statistics;
+    private final Executor callbackExecutor;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "high-score-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentLinkedQueue<GameResult> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private HighScoreLog log;
+
+    /**
+     * Creates a high score service.
+     *
+     * @param logFile the path of the high score log
+     * @param playersFile the path of the player name file
+     * @param jsonFile the path of the old JSON high score file, migrated into an empty log
+     * @param leaderboard the leaderboard loaded results are added to
+     * @param statistics the player statistics all loaded results are recorded in
+     * @param callbackExecutor the executor callbacks run on, for example {@code Platform::runLater}
+     */
+    public HighScoreService(Path logFile, Path playersFile, Path jsonFile, Leaderboard leaderboard,
+                            PlayerStatistics statistics, Executor callbackExecutor) {
+        this.logFile = logFile;
+        this.playersFile = playersFile;
+        this.jsonFile = jsonFile;
+        this.leaderboard = leaderboard;
+        this.statistics = statistics;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Starts loading the best solved games into the leaderboard and the statistics of all results in the
+     * background.
+     *
+     * @param onLoaded the callback run on the callback executor once the leaderboard is filled
+     */
+    public void load(Runnable onLoaded) {
+        writer.execute(() -> {
+            try {
+                PlayerDictionary players = PlayerDictionary.open(playersFile);
+                log = HighScoreLog.open(logFile, players);
+                if (log.getDiscardedBytes() > 0) {
+                    logger.warn("Dropped {} bytes of incomplete high score records", log.getDiscardedBytes());
+                }
+                if (log.getDeadRecords() > 0) {
+                    logger.warn("Removing {} damaged high score records", log.getDeadRecords());
+                    log.compact();
+                }
+                if (log.size() == 0) {
+                    migrateJson();
+                }
+                try (HighScoreStore store = HighScoreStore.open(logFile, players)) {
+                    List<GameResult> results = new ArrayList<>();
+                    for (int record : store.top(leaderboard.getCapacity())) {
+                        if (!store.isSolved(record)) {
+                            break;
+                        }
+                        results.add(store.toGameResult(record));
+                    }
+                    leaderboard.addAll(results);
+                    statistics.recordAll(store);
+                }
+                logger.info("Loaded {} high scores", log.size());
+            } catch (IOException e) {
+                logger.error("Failed to load high scores", e);
+            }
+            callbackExecutor.execute(onLoaded);
+        });
+    }
+
+    private void migrateJson() throws IOException {
+        if (!Files.exists(jsonFile)) {
+            return;
+        }
+        List<GameResult> results;
+        try {
+            results = GameResultCodec.readAll(jsonFile);
+        } catch (IOException e) {
+            logger.error("Failed to read high scores from {}", jsonFile, e);
+            return;
+        }
+        log.appendAll(results);
+        log.sync();
+        logger.info("Migrated {} high scores from {}", results.size(), jsonFile);
+    }
+
+    /**
+     * Queues a result to be appended to the high score log.
+     *
+     * @param result the result to save
+     */
+    public void save(GameResult result) {
+        pending.add(result);
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        writeScheduled.set(false);
+        List<GameResult> batch = new ArrayList<>();
+        for (GameResult result = pending.poll(); result != null; result = pending.poll()) {
+            batch.add(result);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (log == null) {
+            logger.error("High score log is not open, {} results not saved", batch.size());
+            return;
+        }
+        try {
+            log.appendAll(batch);
+        } catch (IOException e) {
+            logger.error("Failed to save high scores", e);
+        }
+    }
+
+    /**
+     * Writes all queued results and forces them to the storage device.
+     *
+     * @return a future completed when the results are written
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            writePending();
+            if (log != null) {
+                try {
+                    log.sync();
+                } catch (IOException e) {
+                    logger.error("Failed to sync high scores", e);
+                }
+            }
+        }, writer);
+    }
+
+    /**
+     * Writes all queued results, closes the log and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        flush();
+        writer.execute(() -> {
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    logger.error("Failed to close high scores", e);
+                }
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("High scores were not written within {} seconds", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
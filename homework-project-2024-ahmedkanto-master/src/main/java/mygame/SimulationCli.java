@@ -0,0 +1,206 @@
+package mygame;
+
+import modelBoard.Board;
+import modelBoard.Direction;
+import modelBoard.GameResult;
+import modelBoard.GameSession;
+import modelBoard.Leaderboard;
+import modelBoard.MovePolicy;
+import modelBoard.PlayerStatistics;
+import modelBoard.PlayerStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Command line load test of the high score pipeline. Simulated players play games headlessly with
+ * {@link GameSession}s on several threads. Every game goes through the same path as a game finished in
+ * the user interface: it is recorded in the {@link PlayerStatistics} and, with {@code --log}, saved by
+ * the {@link HighScoreService} to a high score log in the specified directory, and every solved game is
+ * added to the {@link Leaderboard}. Each thread collects its games in batches and merges them into the
+ * shared statistics and leaderboard once per batch. The players roll at random, follow an optimal solution, or play the
+ * same {@code --script} of comma-separated directions every game.
+ *
+ * <p>Usage: {@code SimulationCli [--games N] [--threads N] [--policy random|optimal]
+ * [--script UP,RIGHT,...] [--max-rolls N] [--players N] [--seed N] [--board FILE] [--log DIR]}
+ */
+public class SimulationCli {
+    private static final int BATCH_SIZE = 1024;
+    private static final long NANOS_PER_ROLL = TimeUnit.MILLISECONDS.toNanos(400);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * The main method of the application.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the board cannot be read
+     * @throws InterruptedException if interrupted while waiting for the simulation
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        MovePolicy policy = MovePolicy.random();
+        int maxRolls = 200;
+        int players = 100;
+        long seed = 42;
+        Board board = Board.classic();
+        Path logDirectory = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Long.parseLong(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--policy":
+                    switch (args[++i]) {
+                        case "random":
+                            policy = MovePolicy.random();
+                            break;
+                        case "optimal":
+                            policy = MovePolicy.optimal();
+                            break;
+                        default:
+                            exitWithUsage();
+                    }
+                    break;
+                case "--script":
+                    policy = MovePolicy.scripted(parseScript(args[++i]));
+                    break;
+                case "--max-rolls":
+                    maxRolls = Integer.parseInt(args[++i]);
+                    break;
+                case "--players":
+                    players = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--board":
+                    board = Board.parse(Files.readString(Path.of(args[++i])));
+                    break;
+                case "--log":
+                    logDirectory = Path.of(args[++i]);
+                    break;
+                default:
+                    exitWithUsage();
+            }
+        }
+        if (games <= 0 || threads <= 0 || players <= 0 || maxRolls < 0) {
+            exitWithUsage();
+        }
+
+        Leaderboard leaderboard = new Leaderboard();
+        PlayerStatistics statistics = new PlayerStatistics();
+        HighScoreService service = null;
+        if (logDirectory != null) {
+            service = new HighScoreService(logDirectory.resolve("highscores.log"), logDirectory.resolve("players.txt"),
+                    logDirectory.resolve("highscores.json"), leaderboard, statistics, Runnable::run);
+            service.load(() -> { });
+        }
+        String[] names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "bot-" + i;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        SplittableRandom random = new SplittableRandom(seed);
+        LongAdder solved = new LongAdder();
+        List<Future<?>> workers = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int thread = 0; thread < threads; thread++) {
+            long count = games / threads + (thread < games % threads ? 1 : 0);
+            GameSession session = new GameSession(board, policy, random.split(), NANOS_PER_ROLL);
+            HighScoreService sink = service;
+            int worker = thread;
+            int limit = maxRolls;
+            workers.add(executor.submit(() ->
+                    play(session, count, names, worker, limit, leaderboard, statistics, sink, solved)));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (service != null) {
+            service.close();
+        }
+
+        System.out.printf("Played %d games in %.3f s (%.0f games/s), %.2f%% solved%n",
+                games, seconds, games / seconds, 100.0 * solved.sum() / games);
+        System.out.println("Top results:");
+        for (GameResult result : leaderboard.top(3)) {
+            System.out.printf("  %s %s %d moves%n", result.getPlayerName(), result.getFormattedDuration(),
+                    result.getMoves());
+        }
+        PlayerStats stats = statistics.of(names[0]);
+        System.out.printf("%s: %d games, %.1f%% solved, best %s in %d moves%n", stats.getPlayerName(),
+                stats.getGamesPlayed(), 100 * stats.getSolveRate(), stats.getBestDuration(), stats.getBestMoves());
+    }
+
+    private static void exitWithUsage() {
+        System.err.println("Usage: SimulationCli [--games N] [--threads N] [--policy random|optimal]"
+                + " [--script UP,RIGHT,...] [--max-rolls N] [--players N] [--seed N] [--board FILE] [--log DIR]");
+        System.exit(2);
+    }
+
+    private static int[] parseScript(String script) {
+        String[] names = script.split(",");
+        int[] rolls = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            rolls[i] = Direction.codeOf(names[i].trim().toUpperCase(Locale.ROOT));
+            if (rolls[i] < 0) {
+                System.err.println("Unknown direction in script: " + names[i]);
+                exitWithUsage();
+            }
+        }
+        return rolls;
+    }
+
+    private static void play(GameSession session, long games, String[] names, int worker, int maxRolls,
+                             Leaderboard leaderboard, PlayerStatistics statistics, HighScoreService service,
+                             LongAdder solved) {
+        List<GameResult> batch = new ArrayList<>(BATCH_SIZE);
+        List<GameResult> wins = new ArrayList<>(BATCH_SIZE);
+        PlayerStatistics played = new PlayerStatistics();
+        LocalDateTime clock = EPOCH.plusDays(worker);
+        for (long game = 0; game < games; game++) {
+            GameResult result = session.play(names[(int) (game % names.length)], clock, maxRolls);
+            clock = result.getEndTime();
+            played.record(result);
+            batch.add(result);
+            if (result.isSolved()) {
+                wins.add(result);
+            }
+            if (batch.size() == BATCH_SIZE || game == games - 1) {
+                leaderboard.addAll(wins);
+                statistics.recordAll(played);
+                played = new PlayerStatistics();
+                if (service != null) {
+                    batch.forEach(service::save);
+                }
+                solved.add(wins.size());
+                batch.clear();
+                wins.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package mygame;
+
+import modelBoard.Board;
+import modelBoard.BidirectionalSolver;
+import modelBoard.BoardFile;
+import modelBoard.LabyrinthGenerator;
+import modelBoard.LabyrinthModel;
+import modelBoard.Reachability;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testClassicBoardMatchesModel() {
+        Board board = Board.classic();
+        assertEquals(7, board.getRows());
+        assertEquals(7, board.getCols());
+        assertTrue(board.hasHorizontalWall(2));
+        assertTrue(board.hasVerticalWall(0));
+        assertFalse(board.hasVerticalWall(1));
+        assertEquals(board, new LabyrinthModel().getBoard());
+    }
+
+    @Test
+    void testTextRoundTrip() {
+        Board board = Board.classic();
+        Board parsed = Board.parse(board.toText());
+        assertEquals(board, parsed);
+        assertEquals(board.hashCode(), parsed.hashCode());
+    }
+
+    @Test
+    void testParseRejectsPositionOutsideBoard() {
+        String text = Board.classic().toText().replace("target 5 2", "target 7 2");
+        assertThrows(IllegalArgumentException.class, () -> Board.parse(text));
+    }
+
+    @Test
+    void testBoardFileRoundTrip() throws IOException {
+        Board large = new Board(1024, 1024, 0, 1024 * 1024 - 1,
+                new long[Board.words(1024 * 1024)], new long[Board.words(1024 * 1024)]);
+        Path file = tempDir.resolve("boards.bin");
+        BoardFile.write(file, List.of(Board.classic(), large, Board.classic()));
+        try (BoardFile boards = BoardFile.open(file)) {
+            assertEquals(3, boards.size());
+            assertEquals(Board.classic(), boards.get(0));
+            assertEquals(large, boards.get(1));
+            assertEquals(Board.classic(), boards.get(2));
+        }
+    }
+
+    @Test
+    void testRollsOnLargeBoard() {
+        Board open = new Board(1024, 1024, 0, 1024 * 1024 - 1,
+                new long[Board.words(1024 * 1024)], new long[Board.words(1024 * 1024)]);
+        LabyrinthModel model = new LabyrinthModel(open);
+        model.moveRight();
+        model.moveDown();
+        assertTrue(model.isGameWon());
+        assertEquals(2046, model.getMoves());
+    }
+
+    @Test
+    void testGeneratedBoardsAreReproducibleAndInBand() {
+        LabyrinthGenerator generator = new LabyrinthGenerator(9, 9, 0.3, 5, 8);
+        List<Board> boards = generator.generate(7, 50);
+        assertEquals(boards, generator.generate(7, 50));
+        assertEquals(boards.get(10), generator.generateBoard(7, 10));
+        assertNotEquals(boards, generator.generate(8, 50));
+        for (Board board : boards) {
+            int rolls = new BidirectionalSolver(board.rollGraph())
+                    .solve(board.getStartCell(), board.getTargetCell()).getRollCount();
+            assertTrue(rolls >= 5 && rolls <= 8, "rolls " + rolls);
+        }
+    }
+
+    @Test
+    void testReachabilityFindsDeadEnds() {
+        // a wall to the right of the middle cell stops rolls from the left and traps the right cell
+        Board board = new Board(1, 3, 0, 1, new long[1], new long[] {0b010});
+        Reachability reachability = board.reachability();
+        assertTrue(reachability.canReachTarget(0));
+        assertTrue(reachability.isDead(2));
+        assertEquals(BitSet.valueOf(new long[] {0b100}), reachability.deadCells());
+        assertEquals(1, reachability.getMaxRolls());
+        assertEquals(1, reachability.countWithin(1, 5));
+        assertEquals(0, reachability.cellWithin(1, 5, 0));
+
+        LabyrinthModel model = new LabyrinthModel(new Board(1, 3, 2, 1, new long[1], new long[] {0b010}));
+        assertTrue(model.isTrapped());
+        assertFalse(new LabyrinthModel().isTrapped());
+    }
+}
@@ -1,10 +1,19 @@
 package mygame;
 
 import modelBoard.GameResult;
+import modelBoard.GameResultCodec;
+import modelBoard.PlayerStatistics;
+import modelBoard.PlayerStats;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +38,18 @@ class GameResultTest {
         assertEquals("05:30", formattedDuration);
     }
 
+    @Test
+    void testSettersUpdateCachedDuration() {
+        LocalDateTime startTime = LocalDateTime.of(2024, 6, 6, 12, 0);
+        GameResult result = new GameResult("Player", startTime, startTime.plusSeconds(42), 10, true);
+        assertEquals("00:42", result.getFormattedDuration());
+        result.setEndTime(startTime.plusMinutes(2).plusSeconds(5));
+        assertEquals("02:05", result.getFormattedDuration());
+        assertEquals(Duration.ofSeconds(125).toNanos(), result.getDurationNanos());
+        result.setStartTime(startTime.plusMinutes(1));
+        assertEquals(Duration.ofSeconds(65), result.getDuration());
+    }
+
     @Test
     void testCompareTo() {
         LocalDateTime startTime = LocalDateTime.now();
@@ -38,4 +59,78 @@ class GameResultTest {
 
         assertTrue(result1.compareTo(result2) < 0);
     }
+
+    @Test
+    void testCodecWritesCompactSchema() throws IOException {
+        LocalDateTime startTime = LocalDateTime.of(2024, 6, 6, 0, 4, 23);
+        GameResult result = new GameResult("Player", startTime, startTime.plusSeconds(5), 32, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameResultCodec.write(out, List.of(result, result));
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertFalse(json.contains("duration"));
+        assertFalse(json.contains("formattedDuration"));
+        List<GameResult> read = new ArrayList<>();
+        assertEquals(2, GameResultCodec.read(new ByteArrayInputStream(out.toByteArray()), read::add));
+        assertEquals(0, result.compareTo(read.get(1)));
+        assertEquals("Player", read.get(1).getPlayerName());
+    }
+
+    @Test
+    void testCodecReadsOldSchema() throws IOException {
+        String json = "[{\"playerName\":\"hrhr\",\"startTime\":\"2024-06-06T00:04:23\","
+                + "\"endTime\":\"2024-06-06T00:04:28\",\"moves\":32,\"solved\":true,"
+                + "\"duration\":4.046634300,\"formattedDuration\":\"00:04\"}]";
+        List<GameResult> read = new ArrayList<>();
+        GameResultCodec.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), read::add);
+        assertEquals(1, read.size());
+        assertEquals("00:05", read.get(0).getFormattedDuration());
+        assertEquals(32, read.get(0).getMoves());
+    }
+
+    @Test
+    void testPlayerNamesAreInterned() {
+        LocalDateTime startTime = LocalDateTime.of(2024, 6, 6, 12, 0);
+        GameResult first = new GameResult(new String("Player"), startTime, startTime.plusSeconds(5), 10, true);
+        GameResult second = new GameResult(new String("Player"), startTime, startTime.plusSeconds(6), 12, true);
+        assertEquals(first.getPlayerId(), second.getPlayerId());
+        assertSame(first.getPlayerName(), second.getPlayerName());
+        second.setPlayerName("Other");
+        assertNotEquals(first.getPlayerId(), second.getPlayerId());
+        assertEquals("Other", second.getPlayerName());
+    }
+
+    @Test
+    void testPlayerStatisticsAreUpdatedIncrementally() {
+        LocalDateTime startTime = LocalDateTime.of(2024, 6, 6, 12, 0);
+        PlayerStatistics statistics = new PlayerStatistics();
+        statistics.record(new GameResult("Stats", startTime, startTime.plusSeconds(30), 40, true));
+        statistics.record(new GameResult("Stats", startTime, startTime.plusSeconds(20), 50, true));
+        statistics.record(new GameResult("Stats", startTime, startTime.plusSeconds(10), 20, false));
+        PlayerStats stats = statistics.of("Stats");
+        assertEquals(3, stats.getGamesPlayed());
+        assertEquals(2, stats.getGamesSolved());
+        assertEquals(2.0 / 3, stats.getSolveRate(), 1e-9);
+        assertEquals(Duration.ofSeconds(20), stats.getBestDuration());
+        assertEquals(40, stats.getBestMoves());
+        assertEquals(0, statistics.of("Nobody").getGamesPlayed());
+    }
+
+    @Test
+    void testPlayerStatisticsAreMerged() {
+        LocalDateTime startTime = LocalDateTime.of(2024, 6, 6, 12, 0);
+        PlayerStatistics statistics = new PlayerStatistics();
+        statistics.record(new GameResult("Merged", startTime, startTime.plusSeconds(30), 40, true));
+        PlayerStatistics other = new PlayerStatistics();
+        other.record(new GameResult("Merged", startTime, startTime.plusSeconds(20), 50, true));
+        other.record(new GameResult("Merged", startTime, startTime.plusSeconds(10), 20, false));
+        other.record(new GameResult("Other", startTime, startTime.plusSeconds(10), 20, false));
+        statistics.recordAll(other);
+        PlayerStats stats = statistics.of("Merged");
+        assertEquals(3, stats.getGamesPlayed());
+        assertEquals(2, stats.getGamesSolved());
+        assertEquals(Duration.ofSeconds(20), stats.getBestDuration());
+        assertEquals(40, stats.getBestMoves());
+        assertEquals(1, statistics.of("Other").getGamesPlayed());
+        assertEquals(2, other.of("Merged").getGamesPlayed());
+    }
 }
@@ -0,0 +1,78 @@
+package mygame;
+
+import modelBoard.Board;
+import modelBoard.DistanceField;
+import modelBoard.GameResult;
+import modelBoard.GameSession;
+import modelBoard.LabyrinthGenerator;
+import modelBoard.LabyrinthModel;
+import modelBoard.MovePolicy;
+import modelBoard.OptimalSolver;
+import modelBoard.RollGraph;
+import modelBoard.Solution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 6, 12, 0);
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testScriptedSolutionWinsOnVirtualClock() {
+        Solution solution = OptimalSolver.solve(new LabyrinthModel(), OptimalSolver.Metric.ROLLS);
+        GameSession session = new GameSession(Board.classic(), MovePolicy.scripted(solution.getRolls()),
+                new SplittableRandom(1), SECOND);
+        GameResult result = session.play("Player", START, 100);
+        assertTrue(result.isSolved());
+        assertEquals(solution.getMoves(), result.getMoves());
+        assertEquals(Duration.ofSeconds(solution.getRollCount()), result.getDuration());
+        GameResult again = session.play("Player", START.plusHours(1), 100);
+        assertEquals(result.getMoves(), again.getMoves());
+        assertEquals(START.plusHours(1), again.getStartTime());
+    }
+
+    @Test
+    void testScriptGivesUpWhenExhausted() {
+        GameSession session = new GameSession(Board.classic(), MovePolicy.scripted(1), new SplittableRandom(1), SECOND);
+        GameResult result = session.play("Player", START, 100);
+        assertFalse(result.isSolved());
+        assertEquals(Duration.ofSeconds(1), result.getDuration());
+    }
+
+    @Test
+    void testRandomPolicyIsReproducible() {
+        GameSession first = new GameSession(Board.classic(), MovePolicy.random(), new SplittableRandom(7), SECOND);
+        GameSession second = new GameSession(Board.classic(), MovePolicy.random(), new SplittableRandom(7), SECOND);
+        for (int i = 0; i < 100; i++) {
+            GameResult a = first.play("Player", START, 50);
+            GameResult b = second.play("Player", START, 50);
+            assertEquals(a.getMoves(), b.getMoves());
+            assertEquals(a.getEndTime(), b.getEndTime());
+        }
+    }
+
+    @Test
+    void testOptimalPolicyMatchesFewestRolls() {
+        GameSession session = new GameSession(Board.classic(), MovePolicy.optimal(), new SplittableRandom(1), SECOND);
+        GameResult result = session.play("Player", START, 100);
+        assertTrue(result.isSolved());
+        assertEquals(Duration.ofSeconds(18), result.getDuration());
+    }
+
+    @Test
+    void testOptimalPolicyOnBoardBeyondAllPairsTables() {
+        Board board = new LabyrinthGenerator(40, 40, 0.25, 10, 20).generateBoard(3, 0);
+        assertTrue(board.getCells() > RollGraph.MAX_ALL_PAIRS_CELLS);
+        int fewest = new DistanceField(board).rollsToTarget(board.getStartCell());
+        GameSession session = new GameSession(board, MovePolicy.optimal(), new SplittableRandom(1), SECOND);
+        GameResult result = session.play("Player", START, 100);
+        assertTrue(result.isSolved());
+        assertEquals(Duration.ofSeconds(fewest), result.getDuration());
+    }
+}
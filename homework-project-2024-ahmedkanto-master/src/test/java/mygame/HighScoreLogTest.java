@@ -0,0 +1,112 @@
+package mygame;
+
+import modelBoard.GameResult;
+import modelBoard.HighScoreLog;
+import modelBoard.PlayerDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreLogTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 6, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private HighScoreLog open() throws IOException {
+        return HighScoreLog.open(tempDir.resolve("highscores.log"), PlayerDictionary.open(tempDir.resolve("players.txt")));
+    }
+
+    private static void assertSameResult(GameResult expected, GameResult actual) {
+        assertEquals(expected.getPlayerName(), actual.getPlayerName());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+        assertEquals(expected.getMoves(), actual.getMoves());
+        assertEquals(expected.isSolved(), actual.isSolved());
+    }
+
+    @Test
+    void testAppendAndReopen() throws IOException {
+        GameResult first = new GameResult("Alice", START, START.plusSeconds(42), 32, true);
+        GameResult second = new GameResult("Bob", START.plusDays(1), START.plusDays(1).plusSeconds(90), 40, false);
+        try (HighScoreLog log = open()) {
+            log.append(first);
+            log.append(second);
+            log.append(first);
+        }
+        try (HighScoreLog log = open()) {
+            List<GameResult> results = log.readAll();
+            assertEquals(3, results.size());
+            assertSameResult(first, results.get(0));
+            assertSameResult(second, results.get(1));
+            assertSameResult(first, results.get(2));
+        }
+        assertEquals(List.of("Alice", "Bob"), Files.readAllLines(tempDir.resolve("players.txt")));
+    }
+
+    @Test
+    void testRecoveryDropsTornRecord() throws IOException {
+        GameResult result = new GameResult("Alice", START, START.plusSeconds(42), 32, true);
+        try (HighScoreLog log = open()) {
+            log.append(result);
+            log.append(result);
+        }
+        Path path = tempDir.resolve("highscores.log");
+        long intact = Files.size(path);
+        Files.write(path, new byte[20], StandardOpenOption.APPEND);
+        try (HighScoreLog log = open()) {
+            assertEquals(2, log.size());
+            assertEquals(20, log.getDiscardedBytes());
+            assertEquals(intact, Files.size(path));
+            log.append(result);
+            assertEquals(3, log.readAll().size());
+        }
+    }
+
+    @Test
+    void testCompactDropsOnlyDamagedRecords() throws IOException {
+        try (HighScoreLog log = open()) {
+            for (int i = 0; i < 3000; i++) {
+                log.append(new GameResult("Bob", START, START.plusSeconds(100 + i), 50, true));
+            }
+        }
+        Path path = tempDir.resolve("highscores.log");
+        damageRecord(path, 7);
+        damageRecord(path, 2500);
+        try (HighScoreLog log = open()) {
+            assertEquals(2, log.getDeadRecords());
+            assertEquals(2998, log.size());
+            assertEquals(2998, log.readAll().size());
+            log.compact();
+            assertEquals(0, log.getDeadRecords());
+            assertEquals(2998, log.size());
+            log.append(new GameResult("Alice", START, START.plusSeconds(10), 32, true));
+        }
+        try (HighScoreLog log = open()) {
+            List<GameResult> results = log.readAll();
+            assertEquals(0, log.getDeadRecords());
+            assertEquals(2999, results.size());
+            assertEquals(START.plusSeconds(106), results.get(6).getEndTime());
+            assertEquals(START.plusSeconds(108), results.get(7).getEndTime());
+            assertEquals("Alice", results.get(2998).getPlayerName());
+        }
+        assertFalse(Files.exists(tempDir.resolve("highscores.log.tmp")));
+    }
+
+    static void damageRecord(Path path, int record) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 8 + record * 32L + 5);
+        }
+    }
+}
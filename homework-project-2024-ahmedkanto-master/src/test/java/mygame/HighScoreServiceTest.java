@@ -0,0 +1,122 @@
+package mygame;
+
+import modelBoard.GameResult;
+import modelBoard.HighScoreLog;
+import modelBoard.Leaderboard;
+import modelBoard.PlayerDictionary;
+import modelBoard.PlayerStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 6, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private HighScoreService service(Leaderboard leaderboard) {
+        return new HighScoreService(tempDir.resolve("highscores.log"), tempDir.resolve("players.txt"),
+                tempDir.resolve("highscores.json"), leaderboard, new PlayerStatistics(), Runnable::run);
+    }
+
+    @Test
+    void testLoadMigratesJsonAndSaveAppends() throws Exception {
+        Files.writeString(tempDir.resolve("highscores.json"), "[{\"playerName\":\"Alice\","
+                + "\"startTime\":\"2024-06-06T12:00:00\",\"endTime\":\"2024-06-06T12:00:42\","
+                + "\"moves\":32,\"solved\":true,\"duration\":42.0,\"formattedDuration\":\"00:42\"}]");
+        Leaderboard leaderboard = new Leaderboard();
+        CountDownLatch loaded = new CountDownLatch(1);
+        try (HighScoreService service = service(leaderboard)) {
+            service.load(loaded::countDown);
+            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+            assertEquals(1, leaderboard.size());
+            assertEquals("Alice", leaderboard.top(1).get(0).getPlayerName());
+            for (int i = 0; i < 50; i++) {
+                service.save(new GameResult("Bob", START, START.plusSeconds(60 + i), 40, true));
+            }
+            service.flush().get(10, TimeUnit.SECONDS);
+        }
+        try (HighScoreLog log = HighScoreLog.open(tempDir.resolve("highscores.log"),
+                PlayerDictionary.open(tempDir.resolve("players.txt")))) {
+            assertEquals(51, log.size());
+        }
+    }
+
+    @Test
+    void testCloseWritesQueuedResults() throws Exception {
+        Leaderboard leaderboard = new Leaderboard();
+        HighScoreService service = service(leaderboard);
+        service.load(() -> { });
+        service.save(new GameResult("Alice", START, START.plusSeconds(42), 32, true));
+        service.close();
+        Leaderboard reloaded = new Leaderboard();
+        CountDownLatch loaded = new CountDownLatch(1);
+        try (HighScoreService again = service(reloaded)) {
+            again.load(loaded::countDown);
+            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, reloaded.size());
+    }
+
+    @Test
+    void testLoadCompactsDamagedRecordsAndKeepsHistory() throws Exception {
+        Path logFile = tempDir.resolve("highscores.log");
+        try (HighScoreLog log = HighScoreLog.open(logFile, PlayerDictionary.open(tempDir.resolve("players.txt")))) {
+            for (int i = 0; i < 200; i++) {
+                log.append(new GameResult("Bob", START, START.plusSeconds(60 + i), 40, i % 2 == 0));
+            }
+        }
+        HighScoreLogTest.damageRecord(logFile, 100);
+        Leaderboard leaderboard = new Leaderboard(10);
+        PlayerStatistics statistics = new PlayerStatistics();
+        CountDownLatch loaded = new CountDownLatch(1);
+        try (HighScoreService service = new HighScoreService(logFile, tempDir.resolve("players.txt"),
+                tempDir.resolve("highscores.json"), leaderboard, statistics, Runnable::run)) {
+            service.load(loaded::countDown);
+            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+            assertEquals(10, leaderboard.size());
+            assertEquals(199, statistics.of("Bob").getGamesPlayed());
+            GameResult result = new GameResult("Carol", START, START.plusSeconds(5), 20, true);
+            leaderboard.add(result);
+            service.save(result);
+            service.flush().get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(8 + 200 * 32, Files.size(logFile));
+        try (HighScoreLog log = HighScoreLog.open(logFile, PlayerDictionary.open(tempDir.resolve("players.txt")))) {
+            assertEquals(0, log.getDeadRecords());
+            assertEquals(200, log.size());
+            assertEquals(1, log.readAll().stream().filter(r -> "Carol".equals(r.getPlayerName())).count());
+        }
+    }
+
+    @Test
+    void testReloadKeepsUnsolvedGamesOffTheLeaderboard() throws Exception {
+        try (HighScoreService service = service(new Leaderboard())) {
+            service.load(() -> { });
+            service.save(new GameResult("Alice", START, START.plusSeconds(42), 32, true));
+            service.save(new GameResult("Alice", START, START.plusSeconds(5), 3, false));
+        }
+        Leaderboard leaderboard = new Leaderboard();
+        PlayerStatistics statistics = new PlayerStatistics();
+        CountDownLatch loaded = new CountDownLatch(1);
+        try (HighScoreService service = new HighScoreService(tempDir.resolve("highscores.log"),
+                tempDir.resolve("players.txt"), tempDir.resolve("highscores.json"), leaderboard, statistics,
+                Runnable::run)) {
+            service.load(loaded::countDown);
+            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, leaderboard.size());
+        assertTrue(leaderboard.top(1).get(0).isSolved());
+        assertEquals(2, statistics.of("Alice").getGamesPlayed());
+        assertEquals(1, statistics.of("Alice").getGamesSolved());
+    }
+}
@@ -0,0 +1,136 @@
+package mygame;
+
+import modelBoard.GameResult;
+import modelBoard.HighScoreLog;
+import modelBoard.HighScoreStore;
+import modelBoard.PlayerDictionary;
+import modelBoard.PlayerStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] PLAYERS = {"Alice", "Bob", "Carol"};
+
+    @TempDir
+    Path tempDir;
+
+    private final List<GameResult> results = new ArrayList<>();
+    private PlayerDictionary players;
+
+    @BeforeEach
+    void writeLog() throws IOException {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = START.plusHours(random.nextInt(24 * 30));
+            results.add(new GameResult(PLAYERS[random.nextInt(PLAYERS.length)], start,
+                    start.plusSeconds(20 + random.nextInt(40)), 32 + random.nextInt(10), true));
+        }
+        Files.writeString(tempDir.resolve("players.txt"), "Zoe\n");
+        players = PlayerDictionary.open(tempDir.resolve("players.txt"));
+        try (HighScoreLog log = HighScoreLog.open(tempDir.resolve("highscores.log"), players)) {
+            for (GameResult result : results) {
+                log.append(result);
+            }
+        }
+    }
+
+    private HighScoreStore open() throws IOException {
+        return HighScoreStore.open(tempDir.resolve("highscores.log"), players);
+    }
+
+    @Test
+    void testTopMatchesCompareTo() throws IOException {
+        try (HighScoreStore store = open()) {
+            assertEquals(results.size(), store.size());
+            int[] top = store.top(results.size());
+            for (int i = 1; i < top.length; i++) {
+                assertTrue(store.toGameResult(top[i - 1]).compareTo(store.toGameResult(top[i])) <= 0);
+            }
+            GameResult best = results.stream().min(Comparator.naturalOrder()).orElseThrow();
+            assertEquals(0, best.compareTo(store.toGameResult(store.top(1)[0])));
+        }
+    }
+
+    @Test
+    void testBestOfPlayer() throws IOException {
+        try (HighScoreStore store = open()) {
+            for (String player : PLAYERS) {
+                GameResult best = results.stream().filter(result -> result.getPlayerName().equals(player))
+                        .min(Comparator.naturalOrder()).orElseThrow();
+                int record = store.bestOf(player);
+                assertEquals(player, store.getPlayerName(record));
+                assertEquals(0, best.compareTo(store.toGameResult(record)));
+                assertEquals(record, store.ofPlayer(player)[0]);
+            }
+            assertEquals(-1, store.bestOf("Dave"));
+        }
+    }
+
+    @Test
+    void testStartedBetween() throws IOException {
+        LocalDateTime from = START.plusDays(3);
+        LocalDateTime to = START.plusDays(10);
+        long expected = results.stream()
+                .filter(result -> !result.getStartTime().isBefore(from) && result.getStartTime().isBefore(to))
+                .count();
+        try (HighScoreStore store = open()) {
+            int[] records = store.startedBetween(from, to);
+            assertEquals(expected, records.length);
+            for (int i = 1; i < records.length; i++) {
+                assertTrue(store.getStartSecond(records[i - 1]) <= store.getStartSecond(records[i]));
+            }
+            assertEquals(0, store.startedBetween(to, from).length);
+        }
+    }
+
+    @Test
+    void testUnsolvedGamesRankBelowSolved() throws IOException {
+        try (HighScoreLog log = HighScoreLog.open(tempDir.resolve("highscores.log"), players)) {
+            log.append(new GameResult("Alice", START, START.plusSeconds(1), 3, false));
+        }
+        try (HighScoreStore store = open()) {
+            assertEquals(results.size() + 1, store.size());
+            assertTrue(store.isSolved(store.top(1)[0]));
+            assertFalse(store.isSolved(store.top(store.size())[store.size() - 1]));
+            assertTrue(store.isSolved(store.bestOf("Alice")));
+        }
+    }
+
+    @Test
+    void testBestOfIgnoresUnsolvedGames() throws IOException {
+        try (HighScoreLog log = HighScoreLog.open(tempDir.resolve("highscores.log"), players)) {
+            log.append(new GameResult("Erin", START, START.plusSeconds(1), 3, false));
+            log.append(new GameResult("Erin", START, START.plusSeconds(2), 5, false));
+        }
+        try (HighScoreStore store = open()) {
+            assertEquals(2, store.ofPlayer("Erin").length);
+            assertEquals(-1, store.bestOf("Erin"));
+        }
+    }
+
+    @Test
+    void testRecordAllTranslatesStoredPlayerIds() throws IOException {
+        PlayerStatistics statistics = new PlayerStatistics();
+        try (HighScoreStore store = open()) {
+            statistics.recordAll(store);
+        }
+        for (String player : PLAYERS) {
+            long played = results.stream().filter(result -> result.getPlayerName().equals(player)).count();
+            assertEquals(played, statistics.of(player).getGamesPlayed());
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package mygame;
 
+import modelBoard.Direction;
 import modelBoard.LabyrinthModel;
+import modelBoard.MoveHistory;
+import modelBoard.OptimalSolver;
+import modelBoard.RollGraph;
+import modelBoard.Solution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,6 +84,204 @@ class LabyrinthModelTest {
         assertEquals(8, model.getMoves());
     }
 
+    @Test
+    void testIsLegalMove() {
+        model.moveUp();
+        assertFalse(model.isLegalMove("UP"));
+        assertTrue(model.isLegalMove("DOWN"));
+    }
+
+    @Test
+    void testCloneIsIndependent() {
+        LabyrinthModel copy = model.clone();
+        copy.moveLeft();
+        assertTrue(model.isBallPosition(1, 4));
+        assertTrue(copy.isBallPosition(1, 0));
+        assertEquals(0, model.getMoves());
+    }
+
+    @Test
+    void testSearchStateIgnoresMoves() {
+        LabyrinthModel other = new LabyrinthModel();
+        other.moveLeft();
+        other.moveRight();
+        other.moveLeft();
+        model.moveLeft();
+        assertNotEquals(model, other);
+        assertEquals(model.toSearchState(), other.toSearchState());
+        assertEquals(model.toSearchState().hashCode(), other.toSearchState().hashCode());
+    }
+
+    @Test
+    void testRollGraphShortestPaths() {
+        RollGraph graph = model.getRollGraph();
+        int start = model.getBallCell();
+        int target = model.getTargetCell();
+        assertEquals(18, graph.minRolls(start, target));
+        assertEquals(32, graph.minMoves(start, target));
+        assertEquals(RollGraph.RIGHT, graph.nextRollByRolls(start, target));
+        assertEquals(0, graph.minRolls(target, target));
+    }
+
+    @Test
+    void testOptimalSolverMatchesRollGraph() {
+        Solution byRolls = OptimalSolver.solve(model, OptimalSolver.Metric.ROLLS);
+        Solution byMoves = OptimalSolver.solve(model, OptimalSolver.Metric.MOVES);
+        assertTrue(byRolls.isSolvable());
+        assertEquals(18, byRolls.getRollCount());
+        assertEquals(32, byMoves.getMoves());
+        for (int roll : byMoves.getRolls()) {
+            model.makeMove(RollGraph.directionName(roll));
+        }
+        assertTrue(model.isGameWon());
+        assertEquals(32, model.getMoves());
+    }
+
+    @Test
+    void testLegalMoveMask() {
+        assertEquals(Direction.UP.mask() | Direction.RIGHT.mask() | Direction.DOWN.mask() | Direction.LEFT.mask(),
+                model.legalMoveMask());
+        model.apply(Direction.UP);
+        assertEquals(0, model.legalMoveMask() & Direction.UP.mask());
+        assertEquals(Set.of("RIGHT", "DOWN"), model.getLegalMoves());
+    }
+
+    @Test
+    void testApplyAndUndo() {
+        int first = model.apply(Direction.RIGHT);
+        int second = model.apply(Direction.DOWN.code());
+        assertEquals(4, model.getMoves());
+        model.undo(second);
+        assertTrue(model.isBallPosition(1, 6));
+        assertEquals(2, model.getMoves());
+        model.undo(first);
+        assertTrue(model.isBallPosition(1, 4));
+        assertEquals(0, model.getMoves());
+    }
+
+    @Test
+    void testListenersSeeEveryChange() {
+        List<Integer> changes = new ArrayList<>();
+        model.addListener((changed, previousCell) -> changes.add(previousCell));
+        int start = model.getBallCell();
+        int previous = model.apply(Direction.RIGHT);
+        // both blocked by walls, so not reported
+        model.apply(Direction.RIGHT);
+        model.apply(Direction.UP);
+        int moved = model.getBallCell();
+        model.undo(previous);
+        model.reset(LocalDateTime.now());
+        assertEquals(List.of(start, moved, start), changes);
+
+        LabyrinthModel copy = model.clone();
+        copy.apply(Direction.RIGHT);
+        assertEquals(3, changes.size());
+    }
+
+    @Test
+    void testUndoAndRedoWithHistory() {
+        assertFalse(model.undoMove());
+        model.setHistory(new MoveHistory());
+        model.apply(Direction.RIGHT);
+        int afterRight = model.getBallCell();
+        model.apply(Direction.DOWN);
+        int afterDown = model.getBallCell();
+        assertTrue(model.undoMove());
+        assertEquals(afterRight, model.getBallCell());
+        assertEquals(2, model.getMoves());
+        assertTrue(model.undoMove());
+        assertTrue(model.isBallPosition(1, 4));
+        assertEquals(0, model.getMoves());
+        assertFalse(model.undoMove());
+
+        assertTrue(model.redoMove());
+        assertTrue(model.redoMove());
+        assertEquals(afterDown, model.getBallCell());
+        assertEquals(4, model.getMoves());
+        assertFalse(model.redoMove());
+
+        model.undoMove();
+        model.apply(Direction.LEFT);
+        assertFalse(model.redoMove());
+        assertArrayEquals(new int[] {Direction.RIGHT.code(), Direction.LEFT.code()}, model.getHistory().rolls());
+        model.reset(LocalDateTime.now());
+        assertEquals(0, model.getHistory().size());
+        assertNull(model.clone().getHistory());
+    }
+
+    @Test
+    void testUndoDoesNotLowerMovesPlayed() {
+        model.setHistory(new MoveHistory());
+        model.apply(Direction.RIGHT);
+        model.apply(Direction.DOWN);
+        model.undoMove();
+        model.undoMove();
+        assertEquals(0, model.getMoves());
+        assertEquals(4, model.getMovesPlayed());
+        model.redoMove();
+        assertEquals(2, model.getMoves());
+        assertEquals(6, model.getMovesPlayed());
+        model.reset(LocalDateTime.now());
+        assertEquals(0, model.getMovesPlayed());
+    }
+
+    @Test
+    void testFinishedGameCannotBeUndone() {
+        model.setHistory(new MoveHistory());
+        int[] rolls = new OptimalSolver(model.getRollGraph())
+                .solve(model.getBallCell(), model.getTargetCell(), OptimalSolver.Metric.ROLLS).getRolls();
+        for (int roll : rolls) {
+            assertFalse(model.isFinished());
+            model.apply(roll);
+        }
+        assertTrue(model.isGameWon());
+        assertTrue(model.isFinished());
+        assertFalse(model.canUndoMove());
+        assertFalse(model.undoMove());
+        assertFalse(model.redoMove());
+        model.apply(Integer.numberOfTrailingZeros(model.legalMoveMask()));
+        assertTrue(model.isFinished());
+        assertEquals(rolls.length, model.getHistory().size());
+        model.reset(LocalDateTime.now());
+        assertFalse(model.isFinished());
+    }
+
+    @Test
+    void testSearchUndoTakesBackFinish() {
+        model.setHistory(new MoveHistory());
+        int[] rolls = new OptimalSolver(model.getRollGraph())
+                .solve(model.getBallCell(), model.getTargetCell(), OptimalSolver.Metric.ROLLS).getRolls();
+        for (int i = 0; i < rolls.length - 1; i++) {
+            model.apply(rolls[i]);
+        }
+        int played = model.getMovesPlayed();
+        int previous = model.apply(rolls[rolls.length - 1]);
+        assertTrue(model.isFinished());
+        model.undo(previous);
+        assertFalse(model.isFinished());
+        assertEquals(played, model.getMovesPlayed());
+        assertTrue(model.canUndoMove());
+        model.apply(Direction.of(rolls[rolls.length - 1]));
+        assertTrue(model.isFinished());
+        assertEquals(rolls.length + 1, model.getHistory().size());
+    }
+
+    @Test
+    void testHistoryKeepsNewestRollsWhenFull() {
+        MoveHistory history = new MoveHistory(3);
+        for (int i = 0; i < 5; i++) {
+            history.record(i, i % 4, i + 1);
+        }
+        assertEquals(3, history.size());
+        long[] entries = history.toArray();
+        assertEquals(2, MoveHistory.fromCell(entries[0]));
+        assertEquals(4, MoveHistory.fromCell(entries[2]));
+        assertEquals(0, MoveHistory.direction(entries[2]));
+        assertEquals(5, MoveHistory.distance(entries[2]));
+        assertEquals(entries[2], history.undo());
+        assertEquals(entries[2], history.redo());
+    }
+
     @Test
     void testGetStartTime() {
         LocalDateTime startTime = model.getStartTime();
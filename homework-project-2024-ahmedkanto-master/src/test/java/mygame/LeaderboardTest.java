@@ -0,0 +1,51 @@
+package mygame;
+
+import modelBoard.GameResult;
+import modelBoard.Leaderboard;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 6, 12, 0);
+
+    private static GameResult result(String player, int seconds, int moves) {
+        return new GameResult(player, START, START.plusSeconds(seconds), moves, true);
+    }
+
+    @Test
+    void testTopIsSortedByCompareTo() {
+        Leaderboard leaderboard = new Leaderboard();
+        GameResult slow = result("A", 60, 32);
+        GameResult fast = result("B", 10, 40);
+        GameResult fastFewerMoves = result("C", 10, 32);
+        leaderboard.addAll(List.of(slow, fast, fastFewerMoves));
+        assertEquals(List.of(fastFewerMoves, fast, slow), leaderboard.top(10));
+        assertEquals(List.of(fastFewerMoves), leaderboard.top(1));
+    }
+
+    @Test
+    void testEqualScoresOfDifferentPlayersAreKept() {
+        Leaderboard leaderboard = new Leaderboard();
+        assertTrue(leaderboard.add(result("A", 10, 32)));
+        assertTrue(leaderboard.add(result("B", 10, 32)));
+        assertFalse(leaderboard.add(result("A", 10, 32)));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void testCapacityDropsWorstResult() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        GameResult worst = result("A", 30, 32);
+        leaderboard.add(worst);
+        leaderboard.add(result("B", 20, 32));
+        assertTrue(leaderboard.add(result("C", 10, 32)));
+        assertFalse(leaderboard.add(result("D", 40, 32)));
+        assertEquals(2, leaderboard.size());
+        assertFalse(leaderboard.top(2).contains(worst));
+    }
+}
@@ -0,0 +1,88 @@
+package mygame;
+
+import modelBoard.BidirectionalSolver;
+import modelBoard.Board;
+import modelBoard.Solution;
+import modelBoard.SolutionCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFingerprintIgnoresStartCell() {
+        Board classic = Board.classic();
+        Board otherStart = Board.parse(classic.toText().replace("start 1 4", "start 0 0"));
+        Board otherTarget = Board.parse(classic.toText().replace("target 5 2", "target 0 0"));
+        assertEquals(classic.fingerprint(), otherStart.fingerprint());
+        assertNotEquals(classic.fingerprint(), otherTarget.fingerprint());
+    }
+
+    @Test
+    void testSolveCountsHitsAndMisses() {
+        Board board = Board.classic();
+        SolutionCache cache = new SolutionCache(10);
+        Solution solution = cache.solve(board, board.getStartCell());
+        assertEquals(new BidirectionalSolver(board.rollGraph()).solve(board.getStartCell(), board.getTargetCell()),
+                solution);
+        assertSame(solution, cache.solve(board, board.getStartCell()));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        Board board = Board.classic();
+        SolutionCache cache = new SolutionCache(2);
+        cache.solve(board, 0);
+        cache.solve(board, 1);
+        cache.get(board, 0);
+        cache.solve(board, 2);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(board, 0));
+        assertNull(cache.get(board, 1));
+    }
+
+    @Test
+    void testSpillFileRoundTrip() throws IOException {
+        Path file = tempDir.resolve("solutions.cache");
+        Board board = Board.classic();
+        SolutionCache cache = SolutionCache.load(file, 100);
+        assertEquals(0, cache.size());
+        for (int cell = 0; cell < board.getCells(); cell++) {
+            cache.solve(board, cell);
+        }
+        cache.save(file);
+
+        SolutionCache loaded = SolutionCache.load(file, 100);
+        assertEquals(board.getCells(), loaded.size());
+        for (int cell = 0; cell < board.getCells(); cell++) {
+            assertEquals(cache.get(board, cell), loaded.get(board, cell));
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals(board.getCells() - 1, SolutionCache.load(file, 100).size());
+    }
+
+    @Test
+    void testDropsRollCountBeyondEndOfFile() throws IOException {
+        Path file = tempDir.resolve("corrupt.cache");
+        ByteBuffer buffer = ByteBuffer.allocate(36);
+        buffer.putInt(SolutionCache.MAGIC).putInt(SolutionCache.VERSION);
+        buffer.putLong(1).putInt(0).putInt(10).putLong(100).putInt(Board.MAX_DIMENSION * Board.MAX_DIMENSION);
+        Files.write(file, buffer.array());
+        assertEquals(0, SolutionCache.load(file, 100).size());
+    }
+}
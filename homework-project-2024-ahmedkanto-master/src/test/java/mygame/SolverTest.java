@@ -0,0 +1,106 @@
+package mygame;
+
+import modelBoard.BidirectionalSolver;
+import modelBoard.Board;
+import modelBoard.DistanceField;
+import modelBoard.FrontierBfs;
+import modelBoard.OptimalSolver;
+import modelBoard.RollGraph;
+import modelBoard.Solution;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+
+    private static Board randomBoard(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cells = size * size;
+        long[] horizontal = new long[Board.words(cells)];
+        long[] vertical = new long[Board.words(cells)];
+        for (int cell = 0; cell < cells; cell++) {
+            if (random.nextInt(8) == 0) {
+                horizontal[cell >>> 6] |= 1L << cell;
+            }
+            if (random.nextInt(8) == 0) {
+                vertical[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return new Board(size, size, cells / 2 + size / 2, cells - size / 3, horizontal, vertical);
+    }
+
+    @Test
+    void testFrontierBfsMatchesSequentialAndOptimal() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int solvable = 0;
+        try {
+            for (long seed = 1; seed <= 5; seed++) {
+                Board board = randomBoard(200, seed);
+                RollGraph graph = board.rollGraph();
+                FrontierBfs bfs = new FrontierBfs(graph, pool);
+                Solution sequential = bfs.solveSequential(board.getStartCell(), board.getTargetCell());
+                Solution parallel = bfs.solve(board.getStartCell(), board.getTargetCell());
+                Solution optimal = new OptimalSolver(graph)
+                        .solve(board.getStartCell(), board.getTargetCell(), OptimalSolver.Metric.ROLLS);
+                assertEquals(sequential, parallel);
+                assertEquals(sequential.getExpandedNodes(), parallel.getExpandedNodes());
+                assertEquals(optimal.getRollCount(), parallel.getRollCount());
+                solvable += parallel.isSolvable() ? 1 : 0;
+            }
+            assertTrue(solvable > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBidirectionalSolverIsOptimal() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Board board = randomBoard(100, seed);
+            RollGraph graph = board.rollGraph();
+            Solution bfs = new FrontierBfs(graph).solveSequential(board.getStartCell(), board.getTargetCell());
+            Solution bidirectional = new BidirectionalSolver(graph).solve(board.getStartCell(), board.getTargetCell());
+            assertEquals(bfs.isSolvable(), bidirectional.isSolvable());
+            assertEquals(bfs.getRollCount(), bidirectional.getRollCount());
+            if (bidirectional.isSolvable()) {
+                int cell = board.getStartCell();
+                for (int roll : bidirectional.getRolls()) {
+                    cell = graph.destination(cell, roll);
+                }
+                assertEquals(board.getTargetCell(), cell);
+            }
+        }
+    }
+
+    @Test
+    void testFrontierBfsOnClassicBoard() {
+        Board board = Board.classic();
+        Solution solution = new FrontierBfs(board.rollGraph()).solve(board.getStartCell(), board.getTargetCell());
+        assertTrue(solution.isSolvable());
+        assertEquals(18, solution.getRollCount());
+    }
+
+    @Test
+    void testDistanceFieldMatchesAllPairsTables() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Board board = randomBoard(30, seed);
+            RollGraph graph = board.rollGraph();
+            DistanceField field = new DistanceField(board);
+            int target = board.getTargetCell();
+            for (int cell = 0; cell < board.getCells(); cell++) {
+                int rolls = field.rollsToTarget(cell);
+                assertEquals(graph.minRolls(cell, target), rolls);
+                assertEquals(rolls < 0, board.reachability().isDead(cell));
+                if (rolls > 0) {
+                    int next = graph.destination(cell, field.nextRoll(cell));
+                    assertEquals(rolls - 1, field.rollsToTarget(next));
+                } else {
+                    assertEquals(DistanceField.UNREACHABLE, field.nextRoll(cell));
+                }
+            }
+        }
+    }
+}